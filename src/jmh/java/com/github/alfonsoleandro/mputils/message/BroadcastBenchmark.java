@@ -0,0 +1,134 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of broadcasting a message to a given amount of recipients, comparing prefixing and colorizing
+ * the message once per recipient, as broadcasts did before {@link RenderedMessage}, with rendering it once.
+ * Sending is replaced by a {@link Blackhole}, so only the per-recipient rendering work is measured.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    /**
+     * The amount of players receiving the broadcast.
+     */
+    @Param({"1", "100", "500"})
+    private int recipients;
+
+    /**
+     * The loaded messages.
+     */
+    private MessageTable<Message> table;
+
+    /**
+     * Loads the messages.
+     */
+    @Setup
+    public void setup() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("prefix", "&f[&6Kills&f]");
+        this.table = MessageTable.load(Message.values(), config, "prefix", false);
+    }
+
+    /**
+     * The approach used before: the message is replaced once, then prefixed and colorized for every recipient.
+     *
+     * @param blackhole Consumes every message that would be sent.
+     */
+    @Benchmark
+    public void formatPerRecipient(Blackhole blackhole) {
+        String message = this.table.getString(Message.KILL_FEED, "%killer%", "alfonsoLeandro", "%victim%", "Notch");
+        for (int i = 0; i < this.recipients; i++) {
+            blackhole.consume(this.table.format(message));
+        }
+    }
+
+    /**
+     * The message is rendered once and the same payload is handed to every recipient.
+     *
+     * @param blackhole Consumes every message that would be sent.
+     */
+    @Benchmark
+    public void renderOnce(Blackhole blackhole) {
+        RenderedMessage message = this.table.render(Message.KILL_FEED, "%killer%", "alfonsoLeandro", "%victim%", "Notch");
+        for (int i = 0; i < this.recipients; i++) {
+            blackhole.consume(message.getLegacy());
+        }
+    }
+
+    /**
+     * The messages used by this benchmark.
+     */
+    private enum Message implements MessageEnum {
+        KILL_FEED("&c%killer% &7killed &c%victim% &7with &e&lstyle&7!");
+
+        /**
+         * The default value of the message.
+         */
+        private final String defaultValue;
+
+        /**
+         * Creates a message.
+         *
+         * @param defaultValue The default value of the message.
+         */
+        Message(String defaultValue) {
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public @NotNull String getPath() {
+            return "messages." + name().toLowerCase();
+        }
+
+        @Override
+        public @NotNull String getDefault() {
+            return this.defaultValue;
+        }
+    }
+}
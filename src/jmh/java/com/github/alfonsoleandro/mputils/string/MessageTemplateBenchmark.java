@@ -0,0 +1,140 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.string;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares replacing placeholders through chained {@link String#replace(CharSequence, CharSequence)} calls, the
+ * approach used before {@link MessageTemplate}, with single-pass replacing and compiled templates.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    /**
+     * A message with two of the four placeholders given.
+     */
+    private static final String MESSAGE = "&c%killer% &7killed &c%victim% &7using &e%weapon% &7from %distance% blocks away!";
+
+    /**
+     * The placeholders and their values, as a map.
+     */
+    private Map<String, String> map;
+    /**
+     * The placeholders and their values, in pairs.
+     */
+    private String[] replacements;
+    /**
+     * The message compiled once.
+     */
+    private MessageTemplate template;
+
+    /**
+     * Prepares the replacements and the compiled template.
+     */
+    @Setup
+    public void setup() {
+        this.map = new LinkedHashMap<>();
+        this.map.put("%killer%", "alfonsoLeandro");
+        this.map.put("%victim%", "Notch");
+        this.map.put("%world%", "world_nether");
+        this.map.put("%time%", "12:00");
+        this.replacements = new String[]{"%killer%", "alfonsoLeandro", "%victim%", "Notch",
+                "%world%", "world_nether", "%time%", "12:00"};
+        this.template = MessageTemplate.compile(MESSAGE);
+    }
+
+    /**
+     * The approach used before templates: one full scan and copy per placeholder.
+     *
+     * @return The replaced message.
+     */
+    @Benchmark
+    public String chainedReplace() {
+        String result = MESSAGE;
+        for (Map.Entry<String, String> entry : this.map.entrySet()) {
+            result = result.replace(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * A one-off string replaced through {@link StringUtils#replacePlaceholders(String, Map)}.
+     *
+     * @return The replaced message.
+     */
+    @Benchmark
+    public String singlePassMap() {
+        return StringUtils.replacePlaceholders(MESSAGE, this.map);
+    }
+
+    /**
+     * A one-off string replaced through {@link MessageTemplate#replace(String, String...)}.
+     *
+     * @return The replaced message.
+     */
+    @Benchmark
+    public String singlePassVarargs() {
+        return MessageTemplate.replace(MESSAGE, this.replacements);
+    }
+
+    /**
+     * A message compiled once, as loaded messages are, rendered with a map.
+     *
+     * @return The replaced message.
+     */
+    @Benchmark
+    public String compiledMap() {
+        return this.template.render(this.map);
+    }
+
+    /**
+     * A message compiled once, as loaded messages are, rendered with pairs of replacements.
+     *
+     * @return The replaced message.
+     */
+    @Benchmark
+    public String compiledVarargs() {
+        return this.template.render(this.replacements);
+    }
+}
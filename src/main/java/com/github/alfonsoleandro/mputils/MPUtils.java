@@ -45,6 +45,11 @@ import java.net.URL;
  */
 public final class MPUtils extends JavaPlugin {
 
+    /**
+     * The minimum amount of milliseconds between two writes of the cooldown file.
+     */
+    private static final long COOLDOWN_SAVE_INTERVAL = 2000;
+
     /**
      * This plugin's plugin.yml file.
      */
@@ -96,6 +101,7 @@ public final class MPUtils extends JavaPlugin {
      */
     @Override
     public void onDisable() {
+        YamlFile.flushAll(this);
         send("&cDisabled&f. Version: &e" + this.version);
         send("&fThank you for using my plugin! &a" + this.pdfFile.getName() + "&f By " + this.pdfFile.getAuthors().get(0));
         send("&fJoin my discord server at &chttps://bit.ly/MPDiscordSv");
@@ -110,10 +116,12 @@ public final class MPUtils extends JavaPlugin {
     }
 
     /**
-     * Registers the cooldown file for this plugin.
+     * Registers the cooldown file for this plugin. Cooldowns change very often, so the file is written at most
+     * once every {@value #COOLDOWN_SAVE_INTERVAL} milliseconds.
      */
     private void registerCooldown() {
         this.cooldownYaml = new YamlFile(this, "cooldowns.yml");
+        this.cooldownYaml.enableWriteBehind(COOLDOWN_SAVE_INTERVAL);
     }
 
     /**
@@ -0,0 +1,108 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.files;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/**
+ * Binds an immutable object to the content of a {@link YamlFile}. The object is built from the file's
+ * configuration once, and built again every time the file is loaded or reloaded, so reading a value is a plain field
+ * access instead of a path lookup.
+ * <pre>{@code
+ * public record Settings(int maxHomes, String world) {
+ *     static final ConfigKey<Integer> MAX_HOMES = ConfigKey.ofInt("homes.max", 3);
+ *     static final ConfigKey<String> WORLD = ConfigKey.ofString("homes.world", "world");
+ *
+ *     Settings(ConfigurationSection config) {
+ *         this(MAX_HOMES.get(config), WORLD.get(config));
+ *     }
+ * }
+ *
+ * ConfigBinding<Settings> settings = new ConfigBinding<>(configYaml, Settings::new);
+ * int maxHomes = settings.get().maxHomes();
+ * }</pre>
+ * The new object replaces the previous one all at once, so readers on any thread see either the previous object
+ * or the new one. The bound objects should only contain final fields.
+ *
+ * @param <T> The type of the bound object.
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class ConfigBinding<T> {
+
+    /**
+     * The file the object is built from.
+     */
+    private final YamlFile file;
+    /**
+     * Builds the object from the file's configuration.
+     */
+    private final Function<? super ConfigurationSection, ? extends T> factory;
+    /**
+     * The listener registered in {@link #file}, rebuilding the object.
+     */
+    private final Runnable listener = this::refresh;
+    /**
+     * The object built from the file's current content.
+     */
+    private volatile T snapshot;
+
+    /**
+     * Builds an object from a file and keeps it up to date with the file's content.
+     *
+     * @param file    The file the object is built from.
+     * @param factory Builds the object from the file's configuration. Called on the thread loading the file.
+     */
+    public ConfigBinding(@NotNull YamlFile file, @NotNull Function<? super ConfigurationSection, ? extends T> factory) {
+        this.file = file;
+        this.factory = factory;
+        this.snapshot = factory.apply(file.getAccess());
+        file.addLoadListener(this.listener);
+    }
+
+    /**
+     * Gets the object built from the file's content.
+     *
+     * @return The bound object.
+     */
+    public T get() {
+        return this.snapshot;
+    }
+
+    /**
+     * Builds the object again from the file's configuration and replaces the current one.
+     * Called automatically every time the file is loaded, only needed after setting values manually.
+     */
+    public void refresh() {
+        this.snapshot = this.factory.apply(this.file.getAccess());
+    }
+
+    /**
+     * Stops keeping the object up to date. {@link #get()} keeps returning the last built object.
+     */
+    public void unbind() {
+        this.file.removeLoadListener(this.listener);
+    }
+}
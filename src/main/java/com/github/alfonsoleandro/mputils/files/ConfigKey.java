@@ -0,0 +1,196 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.files;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A typed configuration value, declared once with its path and default value. Keys are meant to be read while
+ * building the immutable snapshot of a {@link ConfigBinding}, never on every use of the value.
+ * <pre>{@code
+ * public static final ConfigKey<Integer> MAX_HOMES = ConfigKey.ofInt("homes.max", 3);
+ * }</pre>
+ *
+ * @param <T> The type of the value.
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class ConfigKey<T> {
+
+    /**
+     * The path where the value is located.
+     */
+    private final String path;
+    /**
+     * The value used when the path is not set or has an invalid value.
+     */
+    private final T defaultValue;
+    /**
+     * Reads the value from a configuration section.
+     */
+    private final Reader<T> reader;
+
+    /**
+     * Creates a new key.
+     *
+     * @param path         The path where the value is located.
+     * @param defaultValue The value used when the path is not set or has an invalid value.
+     * @param reader       Reads the value from a configuration section.
+     */
+    private ConfigKey(String path, T defaultValue, Reader<T> reader) {
+        if (path == null || path.isEmpty()) throw new IllegalArgumentException("Path cannot be null or empty");
+        this.path = path;
+        this.defaultValue = defaultValue;
+        this.reader = reader;
+    }
+
+    /**
+     * Creates a key for a value of any type.
+     *
+     * @param path         The path where the value is located.
+     * @param defaultValue The value used when the path is not set or has an invalid value.
+     * @param reader       Reads the value from a configuration section.
+     * @param <T>          The type of the value.
+     * @return The new key.
+     */
+    public static <T> ConfigKey<T> of(@NotNull String path, @Nullable T defaultValue, @NotNull Reader<T> reader) {
+        return new ConfigKey<>(path, defaultValue, reader);
+    }
+
+    /**
+     * Creates a key for a string value.
+     *
+     * @param path         The path where the value is located.
+     * @param defaultValue The value used when the path is not set.
+     * @return The new key.
+     */
+    public static ConfigKey<String> ofString(@NotNull String path, @Nullable String defaultValue) {
+        return new ConfigKey<>(path, defaultValue, ConfigurationSection::getString);
+    }
+
+    /**
+     * Creates a key for an integer value.
+     *
+     * @param path         The path where the value is located.
+     * @param defaultValue The value used when the path is not set or is not a number.
+     * @return The new key.
+     */
+    public static ConfigKey<Integer> ofInt(@NotNull String path, int defaultValue) {
+        return new ConfigKey<>(path, defaultValue, ConfigurationSection::getInt);
+    }
+
+    /**
+     * Creates a key for a long value.
+     *
+     * @param path         The path where the value is located.
+     * @param defaultValue The value used when the path is not set or is not a number.
+     * @return The new key.
+     */
+    public static ConfigKey<Long> ofLong(@NotNull String path, long defaultValue) {
+        return new ConfigKey<>(path, defaultValue, ConfigurationSection::getLong);
+    }
+
+    /**
+     * Creates a key for a decimal value.
+     *
+     * @param path         The path where the value is located.
+     * @param defaultValue The value used when the path is not set or is not a number.
+     * @return The new key.
+     */
+    public static ConfigKey<Double> ofDouble(@NotNull String path, double defaultValue) {
+        return new ConfigKey<>(path, defaultValue, ConfigurationSection::getDouble);
+    }
+
+    /**
+     * Creates a key for a boolean value.
+     *
+     * @param path         The path where the value is located.
+     * @param defaultValue The value used when the path is not set or is not a boolean.
+     * @return The new key.
+     */
+    public static ConfigKey<Boolean> ofBoolean(@NotNull String path, boolean defaultValue) {
+        return new ConfigKey<>(path, defaultValue, ConfigurationSection::getBoolean);
+    }
+
+    /**
+     * Creates a key for a list of strings. The list read is unmodifiable.
+     *
+     * @param path The path where the value is located.
+     * @return The new key, giving an empty list when the path is not set.
+     */
+    public static ConfigKey<List<String>> ofStringList(@NotNull String path) {
+        return new ConfigKey<>(path, Collections.emptyList(), (section, keyPath, defaultValue) ->
+                section.isSet(keyPath) ? List.copyOf(section.getStringList(keyPath)) : defaultValue);
+    }
+
+    /**
+     * Reads this key's value from a configuration section.
+     *
+     * @param section The section to read from, usually a {@link YamlFile#getAccess() file's configuration}.
+     * @return The value, or the default value if the path is not set.
+     */
+    public T get(@NotNull ConfigurationSection section) {
+        return this.reader.read(section, this.path, this.defaultValue);
+    }
+
+    /**
+     * Gets the path where the value is located.
+     *
+     * @return The path.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * Gets the value used when the path is not set.
+     *
+     * @return The default value.
+     */
+    public T getDefault() {
+        return this.defaultValue;
+    }
+
+    /**
+     * Reads a value from a configuration section.
+     *
+     * @param <T> The type of the value.
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+
+        /**
+         * Reads a value from a configuration section.
+         *
+         * @param section      The section to read from.
+         * @param path         The path where the value is located.
+         * @param defaultValue The value to return when the path is not set or has an invalid value.
+         * @return The value read.
+         */
+        T read(ConfigurationSection section, String path, T defaultValue);
+    }
+}
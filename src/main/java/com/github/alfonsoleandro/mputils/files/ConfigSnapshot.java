@@ -0,0 +1,307 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.files;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable copy of a configuration section, safe to read from any thread without locking. Every subsection is
+ * a snapshot too, and every list and map is unmodifiable.
+ * <p>
+ * A snapshot taken with a previous snapshot of the same configuration reuses every subsection, list, map and value
+ * that did not change, so publishing a new snapshot after a small change only copies the changed paths, although
+ * every path is still visited to compare it.
+ * Objects stored through {@link org.bukkit.configuration.serialization.ConfigurationSerializable} are kept as they
+ * are and must not be modified.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class ConfigSnapshot {
+
+    /**
+     * The character separating each section in a path.
+     */
+    private static final char PATH_SEPARATOR = '.';
+
+    /**
+     * The values of this section, subsections being snapshots too.
+     */
+    private final Map<String, Object> values;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param values The unmodifiable, already frozen values of the section.
+     */
+    private ConfigSnapshot(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Copies a configuration section. Must be called on the thread modifying the section.
+     *
+     * @param section The section to copy.
+     * @return The new snapshot.
+     */
+    public static ConfigSnapshot of(@NotNull ConfigurationSection section) {
+        return of(section, null);
+    }
+
+    /**
+     * Copies a configuration section, reusing every part of a previous snapshot that did not change.
+     * Must be called on the thread modifying the section.
+     *
+     * @param section  The section to copy.
+     * @param previous A previous snapshot of the same section, or null.
+     * @return The new snapshot, or the previous one if nothing changed.
+     */
+    public static ConfigSnapshot of(@NotNull ConfigurationSection section, @Nullable ConfigSnapshot previous) {
+        Map<String, Object> raw = section.getValues(false);
+        Map<String, Object> frozen = new LinkedHashMap<>((int) (raw.size() / 0.75f) + 1);
+        boolean unchanged = previous != null && previous.values.size() == raw.size();
+        for (Map.Entry<String, Object> entry : raw.entrySet()) {
+            Object old = previous == null ? null : previous.values.get(entry.getKey());
+            Object value = freeze(entry.getValue(), old);
+            frozen.put(entry.getKey(), value);
+            if (value != old) unchanged = false;
+        }
+        return unchanged ? previous : new ConfigSnapshot(Collections.unmodifiableMap(frozen));
+    }
+
+    /**
+     * Copies a value into its immutable form.
+     *
+     * @param value The value to copy.
+     * @param old   The value at the same path in a previous snapshot, or null.
+     * @return The old value if both are equal, otherwise the immutable copy.
+     */
+    private static Object freeze(Object value, Object old) {
+        if (value instanceof ConfigurationSection section) {
+            return of(section, old instanceof ConfigSnapshot oldSnapshot ? oldSnapshot : null);
+        }
+        if (value instanceof List<?> list) {
+            List<?> oldList = old instanceof List<?> l ? l : null;
+            List<Object> frozen = new ArrayList<>(list.size());
+            boolean unchanged = oldList != null && oldList.size() == list.size();
+            for (int i = 0; i < list.size(); i++) {
+                Object oldElement = oldList != null && i < oldList.size() ? oldList.get(i) : null;
+                Object element = freeze(list.get(i), oldElement);
+                frozen.add(element);
+                if (element != oldElement) unchanged = false;
+            }
+            return unchanged ? oldList : Collections.unmodifiableList(frozen);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<?, ?> oldMap = old instanceof Map<?, ?> m ? m : null;
+            Map<Object, Object> frozen = new LinkedHashMap<>((int) (map.size() / 0.75f) + 1);
+            boolean unchanged = oldMap != null && oldMap.size() == map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object oldEntry = oldMap == null ? null : oldMap.get(entry.getKey());
+                Object entryValue = freeze(entry.getValue(), oldEntry);
+                frozen.put(entry.getKey(), entryValue);
+                if (entryValue != oldEntry) unchanged = false;
+            }
+            return unchanged ? oldMap : Collections.unmodifiableMap(frozen);
+        }
+        return Objects.equals(value, old) ? old : value;
+    }
+
+    /**
+     * Gets a value.
+     *
+     * @param path The path of the value, each section separated by a dot.
+     * @return The value, a snapshot if it is a section, or null if it is not set.
+     */
+    @Nullable
+    public Object get(@NotNull String path) {
+        ConfigSnapshot section = this;
+        int start = 0;
+        int end;
+        while ((end = path.indexOf(PATH_SEPARATOR, start)) != -1) {
+            if (!(section.values.get(path.substring(start, end)) instanceof ConfigSnapshot subsection)) return null;
+            section = subsection;
+            start = end + 1;
+        }
+        return section.values.get(start == 0 ? path : path.substring(start));
+    }
+
+    /**
+     * Gets a value.
+     *
+     * @param path         The path of the value, each section separated by a dot.
+     * @param defaultValue The value to return if the path is not set.
+     * @return The value, a snapshot if it is a section, or the given default value if it is not set.
+     */
+    public Object get(@NotNull String path, @Nullable Object defaultValue) {
+        Object value = get(path);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Checks if a path is set.
+     *
+     * @param path The path to look for.
+     * @return true if the path has a value.
+     */
+    public boolean contains(@NotNull String path) {
+        return get(path) != null;
+    }
+
+    /**
+     * Gets a string.
+     *
+     * @param path The path of the string.
+     * @return The string, or null if the path is not set or contains a section or a list.
+     */
+    @Nullable
+    public String getString(@NotNull String path) {
+        return getString(path, null);
+    }
+
+    /**
+     * Gets a string.
+     *
+     * @param path         The path of the string.
+     * @param defaultValue The value to return if the path is not set or contains a section or a list.
+     * @return The string, numbers and booleans converted into strings, or the given default value.
+     */
+    public String getString(@NotNull String path, @Nullable String defaultValue) {
+        Object value = get(path);
+        return value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character
+                ? value.toString()
+                : defaultValue;
+    }
+
+    /**
+     * Gets an integer.
+     *
+     * @param path         The path of the integer.
+     * @param defaultValue The value to return if the path is not set or is not a number.
+     * @return The integer or the given default value.
+     */
+    public int getInt(@NotNull String path, int defaultValue) {
+        return get(path) instanceof Number number ? number.intValue() : defaultValue;
+    }
+
+    /**
+     * Gets a long.
+     *
+     * @param path         The path of the long.
+     * @param defaultValue The value to return if the path is not set or is not a number.
+     * @return The long or the given default value.
+     */
+    public long getLong(@NotNull String path, long defaultValue) {
+        return get(path) instanceof Number number ? number.longValue() : defaultValue;
+    }
+
+    /**
+     * Gets a decimal number.
+     *
+     * @param path         The path of the number.
+     * @param defaultValue The value to return if the path is not set or is not a number.
+     * @return The number or the given default value.
+     */
+    public double getDouble(@NotNull String path, double defaultValue) {
+        return get(path) instanceof Number number ? number.doubleValue() : defaultValue;
+    }
+
+    /**
+     * Gets a boolean.
+     *
+     * @param path         The path of the boolean.
+     * @param defaultValue The value to return if the path is not set or is not a boolean.
+     * @return The boolean or the given default value.
+     */
+    public boolean getBoolean(@NotNull String path, boolean defaultValue) {
+        return get(path) instanceof Boolean bool ? bool : defaultValue;
+    }
+
+    /**
+     * Gets an unmodifiable list.
+     *
+     * @param path The path of the list.
+     * @return The list or null if the path is not set or is not a list.
+     */
+    @Nullable
+    public List<?> getList(@NotNull String path) {
+        return get(path) instanceof List<?> list ? list : null;
+    }
+
+    /**
+     * Gets a list of strings, numbers and booleans being converted into strings.
+     *
+     * @param path The path of the list.
+     * @return A new unmodifiable list, empty if the path is not set or is not a list.
+     */
+    public List<String> getStringList(@NotNull String path) {
+        List<?> list = getList(path);
+        if (list == null) return Collections.emptyList();
+        List<String> strings = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element instanceof String || element instanceof Number || element instanceof Boolean
+                    || element instanceof Character) {
+                strings.add(element.toString());
+            }
+        }
+        return Collections.unmodifiableList(strings);
+    }
+
+    /**
+     * Gets a subsection.
+     *
+     * @param path The path of the subsection.
+     * @return The subsection's snapshot or null if the path is not set or is not a section.
+     */
+    @Nullable
+    public ConfigSnapshot getSection(@NotNull String path) {
+        return get(path) instanceof ConfigSnapshot section ? section : null;
+    }
+
+    /**
+     * Gets the keys directly inside this section.
+     *
+     * @return The unmodifiable set of keys.
+     */
+    public Set<String> getKeys() {
+        return this.values.keySet();
+    }
+
+    /**
+     * Gets the values directly inside this section.
+     *
+     * @return The unmodifiable values by key, subsections being snapshots too.
+     */
+    public Map<String, Object> getValues() {
+        return this.values;
+    }
+}
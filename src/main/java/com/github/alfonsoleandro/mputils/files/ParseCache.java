@@ -0,0 +1,372 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.files;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A binary copy of a parsed configuration file, stored next to the plugin's files together with the source file's
+ * last modification time, size and hash, so the file does not need to be parsed again while it does not change.
+ * The file's header, footer and comments are stored too, so saving a configuration loaded from the cache keeps them.
+ * Only files containing sections, lists, strings, integers, longs, doubles and booleans are cached.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+final class ParseCache {
+
+    /**
+     * The first bytes of every cache file.
+     */
+    private static final int MAGIC = 0x4D505943;
+    /**
+     * The version of the format, cache files with a different one are ignored.
+     */
+    private static final byte FORMAT_VERSION = 3;
+    /**
+     * The length of every hash stored in the cache.
+     */
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * Type of null values, only found inside lists.
+     */
+    private static final byte NULL = 0;
+    /**
+     * Type of strings.
+     */
+    private static final byte STRING = 1;
+    /**
+     * Type of integers.
+     */
+    private static final byte INT = 2;
+    /**
+     * Type of longs.
+     */
+    private static final byte LONG = 3;
+    /**
+     * Type of doubles.
+     */
+    private static final byte DOUBLE = 4;
+    /**
+     * Type of booleans.
+     */
+    private static final byte BOOLEAN = 5;
+    /**
+     * Type of lists.
+     */
+    private static final byte LIST = 6;
+    /**
+     * Type of sections and maps.
+     */
+    private static final byte MAP = 7;
+
+    /**
+     * The cache file.
+     */
+    private final File cacheFile;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param cacheFile The cache file.
+     */
+    ParseCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Reads the cached values, memory-mapping the cache file.
+     *
+     * @param modified   The source file's last modification time.
+     * @param size       The source file's size.
+     * @param sourceHash The SHA-256 hash of the source file's content.
+     * @return The cached values, or null if the cache does not exist, was made for a different source or could not
+     * be read.
+     */
+    @Nullable
+    Entry read(long modified, long size, byte[] sourceHash) {
+        if (!this.cacheFile.isFile()) return null;
+        try (FileChannel channel = FileChannel.open(this.cacheFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.get() != FORMAT_VERSION) return null;
+            if (buffer.getLong() != modified || buffer.getLong() != size) return null;
+            if (!Arrays.equals(readHash(buffer), sourceHash)) return null;
+            if (buffer.get() != MAP) return null;
+            Map<String, Object> values = readMap(buffer);
+            List<String> header = readComments(buffer);
+            List<String> footer = readComments(buffer);
+            Map<String, List<String>> comments = readCommentsByPath(buffer);
+            Map<String, List<String>> inlineComments = readCommentsByPath(buffer);
+            return new Entry(values, header, footer, comments, inlineComments);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cache file. Nothing is written if the configuration contains a value that cannot be cached.
+     *
+     * @param modified   The source file's last modification time.
+     * @param size       The source file's size.
+     * @param sourceHash The SHA-256 hash of the source file's content.
+     * @param root       The parsed configuration.
+     */
+    void write(long modified, long size, byte[] sourceHash, FileConfiguration root) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(modified);
+            out.writeLong(size);
+            out.write(sourceHash);
+            if (!writeValue(out, root)) return;
+            writeValue(out, root.options().getHeader());
+            writeValue(out, root.options().getFooter());
+            Map<String, List<String>> comments = new LinkedHashMap<>();
+            Map<String, List<String>> inlineComments = new LinkedHashMap<>();
+            for (String path : root.getKeys(true)) {
+                List<String> pathComments = root.getComments(path);
+                if (!pathComments.isEmpty()) comments.put(path, pathComments);
+                List<String> pathInlineComments = root.getInlineComments(path);
+                if (!pathInlineComments.isEmpty()) inlineComments.put(path, pathInlineComments);
+            }
+            writeMap(out, comments);
+            writeMap(out, inlineComments);
+        } catch (IOException e) {
+            return;
+        }
+        try {
+            YamlFile.writeAtomically(this.cacheFile.toPath().toAbsolutePath(), bytes.toByteArray());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a value preceded by its type.
+     *
+     * @param out   The stream to write to.
+     * @param value The value to write.
+     * @return false if the value, or any value inside it, cannot be cached.
+     * @throws IOException Never, writing to memory.
+     */
+    private static boolean writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+        } else if (value instanceof Integer integer) {
+            out.writeByte(INT);
+            out.writeInt(integer);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                if (!writeValue(out, element)) return false;
+            }
+        } else if (value instanceof ConfigurationSection section) {
+            return writeMap(out, section.getValues(false));
+        } else if (value instanceof Map<?, ?> map) {
+            return writeMap(out, map);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a section or map preceded by its type.
+     *
+     * @param out The stream to write to.
+     * @param map The values to write by key.
+     * @return false if a key is not a string, or a value cannot be cached.
+     * @throws IOException Never, writing to memory.
+     */
+    private static boolean writeMap(DataOutputStream out, Map<?, ?> map) throws IOException {
+        out.writeByte(MAP);
+        out.writeInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String key)) return false;
+            byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(encoded.length);
+            out.write(encoded);
+            if (!writeValue(out, entry.getValue())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads a value preceded by its type.
+     *
+     * @param buffer The buffer to read from.
+     * @return The value, sections being read as maps.
+     */
+    private static Object readValue(ByteBuffer buffer) {
+        return switch (buffer.get()) {
+            case NULL -> null;
+            case STRING -> readString(buffer);
+            case INT -> buffer.getInt();
+            case LONG -> buffer.getLong();
+            case DOUBLE -> buffer.getDouble();
+            case BOOLEAN -> buffer.get() != 0;
+            case LIST -> {
+                int size = readSize(buffer);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readValue(buffer));
+                yield list;
+            }
+            case MAP -> readMap(buffer);
+            default -> throw new IllegalArgumentException("Unknown value type");
+        };
+    }
+
+    /**
+     * Reads the entries of a map, its type already read.
+     *
+     * @param buffer The buffer to read from.
+     * @return The map, keeping the order of its keys.
+     */
+    private static Map<String, Object> readMap(ByteBuffer buffer) {
+        int size = readSize(buffer);
+        Map<String, Object> map = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+        for (int i = 0; i < size; i++) {
+            String key = readString(buffer);
+            map.put(key, readValue(buffer));
+        }
+        return map;
+    }
+
+    /**
+     * Reads a list of comment lines preceded by its type, null lines being blank ones.
+     *
+     * @param buffer The buffer to read from.
+     * @return The comment lines.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> readComments(ByteBuffer buffer) {
+        if (!(readValue(buffer) instanceof List<?> lines)) throw new IllegalArgumentException("Invalid comments");
+        for (Object line : lines) {
+            if (line != null && !(line instanceof String)) throw new IllegalArgumentException("Invalid comment");
+        }
+        return (List<String>) lines;
+    }
+
+    /**
+     * Reads the comment lines of each path, preceded by the type of the map holding them.
+     *
+     * @param buffer The buffer to read from.
+     * @return The comment lines by path.
+     */
+    private static Map<String, List<String>> readCommentsByPath(ByteBuffer buffer) {
+        if (buffer.get() != MAP) throw new IllegalArgumentException("Invalid comments");
+        int size = readSize(buffer);
+        Map<String, List<String>> comments = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+        for (int i = 0; i < size; i++) {
+            String path = readString(buffer);
+            comments.put(path, readComments(buffer));
+        }
+        return comments;
+    }
+
+    /**
+     * Reads a UTF-8 string preceded by its length.
+     *
+     * @param buffer The buffer to read from.
+     * @return The string.
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] encoded = new byte[readSize(buffer)];
+        buffer.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the size of a string, list or map, checking it fits in the remaining bytes.
+     *
+     * @param buffer The buffer to read from.
+     * @return The size.
+     */
+    private static int readSize(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0 || size > buffer.remaining()) throw new IllegalArgumentException("Invalid size");
+        return size;
+    }
+
+    /**
+     * Reads a hash.
+     *
+     * @param buffer The buffer to read from.
+     * @return The hash.
+     */
+    private static byte[] readHash(ByteBuffer buffer) {
+        byte[] hash = new byte[HASH_LENGTH];
+        buffer.get(hash);
+        return hash;
+    }
+
+    /**
+     * The values and comments read from a cache file.
+     *
+     * @param values         The parsed configuration's values, sections being maps.
+     * @param header         The header's lines.
+     * @param footer         The footer's lines.
+     * @param comments       The comment lines above each path, by path. Paths without comments are not included.
+     * @param inlineComments The comment lines next to each path, by path. Paths without comments are not included.
+     */
+    record Entry(Map<String, Object> values,
+                 List<String> header,
+                 List<String> footer,
+                 Map<String, List<String>> comments,
+                 Map<String, List<String>> inlineComments) {
+    }
+}
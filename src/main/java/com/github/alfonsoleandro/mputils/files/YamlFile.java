@@ -1,15 +1,43 @@
 package com.github.alfonsoleandro.mputils.files;
 
 import com.google.common.base.Strings;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * YamlFile by <a href="https://github.com/OcZi">OcZi</a>. With the permission given to MasterPlugins for using this class.
@@ -18,6 +46,11 @@ import java.util.Map;
  * @since 1.4.0
  */
 public class YamlFile {
+    /**
+     * Every file with write-behind enabled, by owning plugin, flushed by {@link #flushAll(JavaPlugin)}. Guarded by
+     * itself.
+     */
+    private static final Map<JavaPlugin, Set<YamlFile>> WRITE_BEHIND_FILES = new WeakHashMap<>();
     /**
      * Your plugin main instance.
      */
@@ -40,6 +73,72 @@ public class YamlFile {
      * The file located in your plugin's data folder inside the server.
      */
     private final File file;
+    /**
+     * The minimum amount of ticks between two write-behind saves, or 0 if write-behind is disabled.
+     *
+     * @see #enableWriteBehind(long)
+     */
+    private long writeBehindTicks;
+    /**
+     * Whether the configuration changed since the last snapshot was taken.
+     */
+    private boolean dirty;
+    /**
+     * The task that will take the next snapshot, null if none is scheduled.
+     */
+    private BukkitTask writeBehindTask;
+    /**
+     * The version of the last snapshot taken.
+     */
+    private long snapshotVersion;
+    /**
+     * The latest snapshot waiting to be written by the I/O worker, if any.
+     */
+    private final AtomicReference<Snapshot> pendingWrite = new AtomicReference<>();
+    /**
+     * Whether the I/O worker is running.
+     */
+    private final AtomicBoolean writing = new AtomicBoolean();
+    /**
+     * Held while taking a pending snapshot and writing it to the file.
+     */
+    private final Object writeLock = new Object();
+    /**
+     * The version of the last snapshot written to the file, guarded by {@link #writeLock}.
+     */
+    private long writtenVersion;
+    /**
+     * The hash of the data last written to or loaded from the file, guarded by {@link #writeLock}.
+     */
+    private byte[] persistedHash;
+    /**
+     * The amount of bytes written to the file.
+     */
+    private final AtomicLong bytesWritten = new AtomicLong();
+    /**
+     * The amount of times the file was written.
+     */
+    private final AtomicLong writes = new AtomicLong();
+    /**
+     * The amount of saves skipped because the file already contained the same data.
+     */
+    private final AtomicLong skippedSaves = new AtomicLong();
+    /**
+     * Listeners notified every time the content of the configuration is loaded.
+     */
+    private final List<Runnable> loadListeners = new CopyOnWriteArrayList<>();
+    /**
+     * The last published immutable copy of the configuration, or null if snapshots are not enabled.
+     */
+    private volatile ConfigSnapshot configSnapshot;
+    /**
+     * The serialized configuration the current snapshot was published from, or null if not known.
+     */
+    private String publishedData;
+    /**
+     * The binary copy of the parsed file, or null if not enabled.
+     */
+    private final ParseCache parseCache;
 
     /**
      * YamlFile constructor.
@@ -65,17 +164,93 @@ public class YamlFile {
     public YamlFile(JavaPlugin plugin,
                     String fileName,
                     Map<String, String> mapRefill) {
+        this(plugin, fileName, mapRefill, false);
+    }
+
+    /**
+     * YamlFile constructor.
+     * <p>
+     * When using the parse cache, the parsed file is stored in a binary form inside the ".cache" folder of your
+     * plugin's data folder, along with the file's last modification time, size and hash. While the file does not
+     * change, it is loaded from that copy instead of being parsed again, which speeds up loading large files.
+     *
+     * @param plugin     Your plugin's main instance.
+     * @param fileName   The file name to look for on your resources folder and the file name for the final file in
+     *                   your plugin's data folder in the server.
+     * @param mapRefill  String, String map used for adding default values not set in the default file, or null.
+     * @param parseCache Whether to use the parse cache.
+     * @since 1.10.0
+     */
+    public YamlFile(JavaPlugin plugin,
+                    String fileName,
+                    Map<String, String> mapRefill,
+                    boolean parseCache) {
+        this(plugin, fileName, mapRefill, parseCache(plugin, fileName, parseCache));
+        saveDefault();
+        loadFileConfiguration();
+
+        if (mapRefill != null) {
+            refillNodes();
+        }
+    }
+
+    /**
+     * Creates a YamlFile without loading it.
+     *
+     * @param plugin     Your plugin's main instance.
+     * @param fileName   The file name.
+     * @param mapRefill  String, String map used for adding default values not set in the default file, or null.
+     * @param parseCache The parse cache, or null to not use one.
+     */
+    private YamlFile(JavaPlugin plugin,
+                     String fileName,
+                     Map<String, String> mapRefill,
+                     ParseCache parseCache) {
         this.plugin = plugin;
         this.mapRefill = mapRefill;
         this.file = new File(plugin.getDataFolder(), fileName);
+        this.parseCache = parseCache;
         this.fileConfig = new YamlConfiguration();
         this.fileName = fileName;
-        saveDefault();
-        loadFileConfiguration();
+    }
+
+    /**
+     * Creates a YamlFile like {@link #YamlFile(JavaPlugin, String, Map, boolean)} does, except that a file that
+     * cannot be read or parsed is reported to the caller instead of only being logged.
+     *
+     * @param plugin     Your plugin's main instance.
+     * @param fileName   The file name.
+     * @param mapRefill  String, String map used for adding default values not set in the default file, or null.
+     * @param parseCache Whether to use the parse cache.
+     * @return The loaded file.
+     * @throws IOException                   If the file could not be read.
+     * @throws InvalidConfigurationException If the file is not valid YAML.
+     */
+    static YamlFile create(JavaPlugin plugin,
+                           String fileName,
+                           Map<String, String> mapRefill,
+                           boolean parseCache) throws IOException, InvalidConfigurationException {
+        YamlFile yamlFile = new YamlFile(plugin, fileName, mapRefill, parseCache(plugin, fileName, parseCache));
+        yamlFile.saveDefault();
+        yamlFile.loadOrThrow();
 
         if (mapRefill != null) {
-            refillNodes();
+            yamlFile.refillNodes();
         }
+        return yamlFile;
+    }
+
+    /**
+     * Creates the parse cache of a file, stored inside the ".cache" folder of the plugin's data folder.
+     *
+     * @param plugin     Your plugin's main instance.
+     * @param fileName   The file name.
+     * @param parseCache Whether to use the parse cache.
+     * @return The parse cache, or null if not used.
+     */
+    private static ParseCache parseCache(JavaPlugin plugin, String fileName, boolean parseCache) {
+        if (!parseCache) return null;
+        return new ParseCache(new File(new File(plugin.getDataFolder(), ".cache"), fileName + ".bin"));
     }
 
     /**
@@ -83,19 +258,83 @@ public class YamlFile {
      */
     public void loadFileConfiguration() {
         try {
-            if (Strings.isNullOrEmpty(this.fileName))
-                throw new NullPointerException(
-                        "File name is empty or null.");
-            if (!this.fileName.endsWith(".yml")) {
-                this.fileName += ".yml";
-            }
-
-            this.fileConfig.load(this.file);
+            loadOrThrow();
         } catch (IOException | InvalidConfigurationException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Loads the {@link FileConfiguration} object.
+     *
+     * @throws IOException                   If the file could not be read.
+     * @throws InvalidConfigurationException If the file is not valid YAML.
+     */
+    private void loadOrThrow() throws IOException, InvalidConfigurationException {
+        if (Strings.isNullOrEmpty(this.fileName))
+            throw new NullPointerException(
+                    "File name is empty or null.");
+        if (!this.fileName.endsWith(".yml")) {
+            this.fileName += ".yml";
+        }
+
+        if (this.parseCache == null) {
+            byte[] data = Files.readAllBytes(this.file.toPath());
+            this.fileConfig.loadFromString(new String(data, StandardCharsets.UTF_8));
+            setPersistedHash(hash(data));
+        } else {
+            loadCached();
+        }
+        notifyLoaded();
+    }
+
+    /**
+     * Loads the configuration from the parse cache if the file did not change since the cache was written, otherwise
+     * parses the file and writes the cache again.
+     *
+     * @throws IOException                   If the file could not be read.
+     * @throws InvalidConfigurationException If the file is not valid YAML.
+     */
+    private void loadCached() throws IOException, InvalidConfigurationException {
+        // Read before the content, so a change made while reading is detected on the next load.
+        long modified = this.file.lastModified();
+        byte[] data = Files.readAllBytes(this.file.toPath());
+        byte[] sourceHash = hash(data);
+
+        ParseCache.Entry cached = this.parseCache.read(modified, data.length, sourceHash);
+        if (cached != null) {
+            replaceValues(cached.values());
+            setComments(cached.header(), cached.footer(), cached.comments(), cached.inlineComments());
+        } else {
+            this.fileConfig.loadFromString(new String(data, StandardCharsets.UTF_8));
+            this.parseCache.write(modified, data.length, sourceHash, this.fileConfig);
+        }
+        setPersistedHash(sourceHash);
+    }
+
+    /**
+     * Sets the hash of the file's content as just loaded. The raw content is hashed instead of the configuration
+     * serialized again, so loading does not serialize it. A file that is not formatted the way it would be saved is
+     * therefore written once by the first save, even if nothing changed.
+     *
+     * @param sourceHash The SHA-256 hash of the file's content.
+     */
+    private void setPersistedHash(byte[] sourceHash) {
+        synchronized (this.writeLock) {
+            this.persistedHash = sourceHash;
+        }
+    }
+
+    /**
+     * Checks if this file is loaded through the parse cache.
+     *
+     * @return true if the parse cache is enabled.
+     * @since 1.10.0
+     */
+    public boolean usesParseCache() {
+        return this.parseCache != null;
+    }
+
     /**
      * Fills the config file with some given keys and values.
      */
@@ -105,6 +344,7 @@ public class YamlFile {
                 this.fileConfig.set(mapEntry.getKey(), mapEntry.getValue());
             }
         }
+        notifyLoaded();
         save(true);
     }
 
@@ -116,39 +356,527 @@ public class YamlFile {
      */
     @Deprecated
     public void save() {
-        try {
-            this.fileConfig.save(this.file);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        save(false);
     }
 
     /**
      * Saves the {@link FileConfiguration} object to the file in your plugin's data folder.
+     * The configuration is serialized on the calling thread, and the file is not written if it already contains
+     * the same data. Otherwise, it is replaced in a single step, so it is never left partially written.
      *
      * @param async Whether to save this file synchronously or asynchronously.
      * @since 1.8.1
      */
     public void save(boolean async) {
+        if (this.writeBehindTicks > 0) {
+            if (async) {
+                markDirty();
+            } else {
+                cancelWriteBehindTask();
+                this.dirty = false;
+                write(takeSnapshot());
+            }
+            return;
+        }
         if (async) {
-            new BukkitRunnable() {
-                public void run() {
-                    try {
-                        YamlFile.this.fileConfig.save(YamlFile.this.file);
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }.runTaskAsynchronously(this.plugin);
+            this.pendingWrite.set(takeSnapshot());
+            startWriter();
         } else {
+            write(takeSnapshot());
+        }
+    }
+
+    /**
+     * Enables write-behind saving. While enabled, {@link #save(boolean) asynchronous saves} only mark the file as
+     * changed, and the file is written at most once per interval, so any amount of saves during that interval
+     * results in a single write. The configuration is copied on the calling thread, which should be the one
+     * modifying it, usually the main thread, and the copy is written by a single I/O worker per file.
+     * <p>
+     * Pending changes are written synchronously by {@link #flush()} and {@link #flushAll(JavaPlugin)}, one of which
+     * must be called when the plugin is disabled, since its scheduled saves are cancelled and would otherwise be lost.
+     * {@link com.github.alfonsoleandro.mputils.reloadable.ReloaderPlugin#onDisable()} does it, so plugins extending
+     * it and overriding that method must call {@code super.onDisable()}.
+     *
+     * @param intervalMillis The minimum amount of milliseconds between two writes, rounded to server ticks.
+     * @since 1.10.0
+     */
+    public void enableWriteBehind(long intervalMillis) {
+        if (intervalMillis <= 0) throw new IllegalArgumentException("Interval must be greater than 0");
+        this.writeBehindTicks = Math.max(1, intervalMillis / 50);
+        synchronized (WRITE_BEHIND_FILES) {
+            WRITE_BEHIND_FILES.computeIfAbsent(this.plugin, plugin -> Collections.newSetFromMap(new WeakHashMap<>()))
+                    .add(this);
+        }
+    }
+
+    /**
+     * Disables write-behind saving, writing any pending change first.
+     *
+     * @since 1.10.0
+     */
+    public void disableWriteBehind() {
+        flush();
+        this.writeBehindTicks = 0;
+        synchronized (WRITE_BEHIND_FILES) {
+            Set<YamlFile> files = WRITE_BEHIND_FILES.get(this.plugin);
+            if (files != null) files.remove(this);
+        }
+    }
+
+    /**
+     * Checks whether write-behind saving is enabled.
+     *
+     * @return true if asynchronous saves are coalesced.
+     * @see #enableWriteBehind(long)
+     * @since 1.10.0
+     */
+    public boolean isWriteBehind() {
+        return this.writeBehindTicks > 0;
+    }
+
+    /**
+     * Marks the configuration as changed, scheduling a write-behind save if there is none scheduled yet.
+     * Saves right away, asynchronously, if write-behind is disabled.
+     *
+     * @since 1.10.0
+     */
+    public void markDirty() {
+        if (this.writeBehindTicks == 0) {
+            save(true);
+            return;
+        }
+        this.dirty = true;
+        if (this.writeBehindTask != null) return;
+        if (!this.plugin.isEnabled()) {
+            flush();
+            return;
+        }
+        this.writeBehindTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                YamlFile.this.writeBehindTask = null;
+                if (!YamlFile.this.dirty) return;
+                YamlFile.this.dirty = false;
+                YamlFile.this.pendingWrite.set(takeSnapshot());
+                startWriter();
+            }
+        }.runTaskLater(this.plugin, this.writeBehindTicks);
+    }
+
+    /**
+     * Writes every pending change synchronously, waiting for any write already in progress.
+     *
+     * @since 1.10.0
+     */
+    public void flush() {
+        // The I/O worker takes and writes its snapshots while holding the write lock, so once it is held here no
+        // write is in progress and no snapshot taken by the worker is left unwritten.
+        synchronized (this.writeLock) {
+            Snapshot pending = this.pendingWrite.getAndSet(null);
+            if (this.dirty || this.writeBehindTask != null) {
+                cancelWriteBehindTask();
+                this.dirty = false;
+                write(takeSnapshot());
+            } else if (pending != null) {
+                write(pending);
+            }
+        }
+    }
+
+    /**
+     * Synchronously writes the pending changes of every file of a plugin with write-behind enabled. Must be called
+     * when a plugin using write-behind files is disabled, since its scheduled saves are cancelled. Called by
+     * {@link com.github.alfonsoleandro.mputils.reloadable.ReloaderPlugin#onDisable()}. Files of other plugins, even
+     * ones using this same library, are never flushed.
+     *
+     * @param plugin The plugin owning the files.
+     * @since 1.10.0
+     */
+    public static void flushAll(@NotNull JavaPlugin plugin) {
+        List<YamlFile> files;
+        synchronized (WRITE_BEHIND_FILES) {
+            Set<YamlFile> pluginFiles = WRITE_BEHIND_FILES.get(plugin);
+            if (pluginFiles == null) return;
+            files = new ArrayList<>(pluginFiles);
+        }
+        files.forEach(YamlFile::flush);
+    }
+
+    /**
+     * Cancels the scheduled write-behind save, if any.
+     */
+    private void cancelWriteBehindTask() {
+        if (this.writeBehindTask == null) return;
+        this.writeBehindTask.cancel();
+        this.writeBehindTask = null;
+    }
+
+    /**
+     * Copies the current state of the configuration, to be written later from any thread.
+     *
+     * @return The new snapshot, newer than every previous one.
+     */
+    private Snapshot takeSnapshot() {
+        String data = this.fileConfig.saveToString();
+        publishSnapshot(data);
+        return new Snapshot(++this.snapshotVersion, data);
+    }
+
+    /**
+     * Enables immutable snapshots of the configuration. While enabled, a new snapshot is published every time the
+     * configuration is loaded or saved with changes, so threads other than the one modifying the configuration can
+     * read it through {@link #getSnapshot()}. Must be called on the thread modifying the configuration.
+     * <p>
+     * Publishing a snapshot walks the whole configuration, reusing the unchanged parts of the previous one, so
+     * snapshots are best suited to files that are loaded often but saved rarely.
+     *
+     * @since 1.10.0
+     */
+    public void enableSnapshots() {
+        if (this.configSnapshot == null) {
+            this.configSnapshot = ConfigSnapshot.of(this.fileConfig);
+            this.publishedData = null;
+        }
+    }
+
+    /**
+     * Disables immutable snapshots of the configuration.
+     *
+     * @since 1.10.0
+     */
+    public void disableSnapshots() {
+        this.configSnapshot = null;
+    }
+
+    /**
+     * Gets the last published immutable snapshot of the configuration, as it was when last loaded or saved.
+     * Safe to call from any thread.
+     *
+     * @return The snapshot.
+     * @throws IllegalStateException If snapshots are not enabled, see {@link #enableSnapshots()}.
+     * @since 1.10.0
+     */
+    public ConfigSnapshot getSnapshot() {
+        ConfigSnapshot snapshot = this.configSnapshot;
+        if (snapshot == null) throw new IllegalStateException("Snapshots are not enabled for " + this.fileName);
+        return snapshot;
+    }
+
+    /**
+     * Publishes a new snapshot of the configuration if snapshots are enabled, reusing the unchanged parts of the
+     * previous one. Nothing is published if the configuration is saved with the same data the current snapshot was
+     * published from, so saving an unchanged configuration does not walk it again.
+     *
+     * @param data The configuration serialized, or null if it was not serialized.
+     */
+    private void publishSnapshot(@Nullable String data) {
+        ConfigSnapshot previous = this.configSnapshot;
+        if (previous == null || data != null && data.equals(this.publishedData)) return;
+        this.configSnapshot = ConfigSnapshot.of(this.fileConfig, previous);
+        this.publishedData = data;
+    }
+
+    /**
+     * Starts the I/O worker, unless it is already running. The worker writes the latest pending snapshot until
+     * there is none left.
+     */
+    private void startWriter() {
+        if (!this.writing.compareAndSet(false, true)) return;
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                do {
+                    Snapshot snapshot;
+                    do {
+                        synchronized (YamlFile.this.writeLock) {
+                            snapshot = YamlFile.this.pendingWrite.getAndSet(null);
+                            if (snapshot != null) write(snapshot);
+                        }
+                    } while (snapshot != null);
+                    YamlFile.this.writing.set(false);
+                } while (YamlFile.this.pendingWrite.get() != null && YamlFile.this.writing.compareAndSet(false, true));
+            }
+        }.runTaskAsynchronously(this.plugin);
+    }
+
+    /**
+     * Writes a snapshot to the file, unless a newer one was already written or the file already contains it.
+     * The snapshot is written to a temporary file in the same directory, forced to the disk and then moved over
+     * the file in a single step, so the file is never left partially written.
+     *
+     * @param snapshot The snapshot to write.
+     */
+    private void write(Snapshot snapshot) {
+        synchronized (this.writeLock) {
+            if (snapshot.version() <= this.writtenVersion) return;
+            byte[] data = snapshot.data().getBytes(StandardCharsets.UTF_8);
+            byte[] dataHash = hash(data);
+            if (Arrays.equals(dataHash, this.persistedHash) && this.file.exists()) {
+                this.writtenVersion = snapshot.version();
+                this.skippedSaves.incrementAndGet();
+                return;
+            }
+
             try {
-                this.fileConfig.save(this.file);
+                writeAtomically(this.file.toPath().toAbsolutePath(), data);
+                this.persistedHash = dataHash;
+                this.writtenVersion = snapshot.version();
+                this.bytesWritten.addAndGet(data.length);
+                this.writes.incrementAndGet();
             } catch (IOException e) {
                 e.printStackTrace();
             }
         }
     }
 
+    /**
+     * Writes data to a temporary file in the target's directory, forces it to the disk and then moves it over the
+     * target in a single step, so the target is never left partially written.
+     *
+     * @param target The file to write.
+     * @param data   The data to write.
+     * @throws IOException If the data could not be written.
+     */
+    static void writeAtomically(Path target, byte[] data) throws IOException {
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the file again and, only if its content changed since it was last loaded or written, applies the new
+     * content to this object's {@link FileConfiguration}. The file is read and parsed using the given executor,
+     * usually off the main thread, and the parsed content is applied on the main thread. Changes made to the
+     * configuration but not written yet are discarded when the file changed.
+     *
+     * @param parser The executor reading and parsing the file.
+     * @return A future completed with true once the new content was applied, or with false if the content did not
+     * change.
+     * @since 1.10.0
+     */
+    public CompletableFuture<Boolean> reloadIfChanged(@NotNull Executor parser) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        parser.execute(() -> {
+            try {
+                byte[] data = Files.readAllBytes(this.file.toPath());
+                byte[] persisted;
+                synchronized (this.writeLock) {
+                    persisted = this.persistedHash;
+                }
+                // Files written by this object, or not changed since loaded, are skipped without being parsed.
+                if (Arrays.equals(hash(data), persisted)) {
+                    result.complete(false);
+                    return;
+                }
+                YamlConfiguration parsed = new YamlConfiguration();
+                parsed.loadFromString(new String(data, StandardCharsets.UTF_8));
+                byte[] parsedHash = hash(parsed.saveToString().getBytes(StandardCharsets.UTF_8));
+                if (Arrays.equals(parsedHash, persisted)) {
+                    result.complete(false);
+                    return;
+                }
+                Bukkit.getScheduler().runTask(this.plugin, () -> {
+                    apply(parsed, parsedHash);
+                    result.complete(true);
+                });
+            } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Replaces the content of this object's configuration with an already parsed one, comments included, discarding
+     * any pending save.
+     *
+     * @param parsed     The parsed content.
+     * @param parsedHash The hash of the parsed content, serialized.
+     */
+    private void apply(YamlConfiguration parsed, byte[] parsedHash) {
+        cancelWriteBehindTask();
+        this.dirty = false;
+        this.pendingWrite.set(null);
+        replaceValues(toMap(parsed));
+        copyComments(parsed);
+        synchronized (this.writeLock) {
+            this.persistedHash = parsedHash;
+            // Snapshots taken before the reload must never be written over the new content.
+            this.writtenVersion = this.snapshotVersion;
+        }
+        notifyLoaded();
+    }
+
+    /**
+     * Adds a listener to be notified, on the thread loading the file, every time the content of the configuration
+     * is loaded, reloaded or refilled.
+     *
+     * @param listener The listener to add.
+     * @since 1.10.0
+     */
+    public void addLoadListener(@NotNull Runnable listener) {
+        this.loadListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addLoadListener(Runnable)}.
+     *
+     * @param listener The listener to remove.
+     * @since 1.10.0
+     */
+    public void removeLoadListener(@NotNull Runnable listener) {
+        this.loadListeners.remove(listener);
+    }
+
+    /**
+     * Notifies every load listener, a failing listener not stopping the others from being notified.
+     */
+    private void notifyLoaded() {
+        publishSnapshot(null);
+        for (Runnable listener : this.loadListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Replaces every value of this object's configuration.
+     *
+     * @param values The new values, sections being nested maps.
+     */
+    private void replaceValues(Map<String, Object> values) {
+        for (String key : this.fileConfig.getKeys(false)) {
+            this.fileConfig.set(key, null);
+        }
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() instanceof Map<?, ?> section) {
+                this.fileConfig.createSection(entry.getKey(), section);
+            } else {
+                this.fileConfig.set(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Copies the header, footer and comments of an already parsed configuration into this object's configuration,
+     * whose values were just replaced with the parsed ones.
+     *
+     * @param parsed The parsed configuration.
+     */
+    private void copyComments(FileConfiguration parsed) {
+        Map<String, List<String>> comments = new LinkedHashMap<>();
+        Map<String, List<String>> inlineComments = new LinkedHashMap<>();
+        for (String path : parsed.getKeys(true)) {
+            List<String> pathComments = parsed.getComments(path);
+            if (!pathComments.isEmpty()) comments.put(path, pathComments);
+            List<String> pathInlineComments = parsed.getInlineComments(path);
+            if (!pathInlineComments.isEmpty()) inlineComments.put(path, pathInlineComments);
+        }
+        setComments(parsed.options().getHeader(), parsed.options().getFooter(), comments, inlineComments);
+    }
+
+    /**
+     * Sets the header, footer and comments of this object's configuration, whose values were just replaced, so
+     * saving it keeps them.
+     *
+     * @param header         The header's lines.
+     * @param footer         The footer's lines.
+     * @param comments       The comment lines above each path, by path.
+     * @param inlineComments The comment lines next to each path, by path.
+     */
+    private void setComments(List<String> header,
+                             List<String> footer,
+                             Map<String, List<String>> comments,
+                             Map<String, List<String>> inlineComments) {
+        this.fileConfig.options().setHeader(header);
+        this.fileConfig.options().setFooter(footer);
+        comments.forEach(this.fileConfig::setComments);
+        inlineComments.forEach(this.fileConfig::setInlineComments);
+    }
+
+    /**
+     * Converts a configuration section into nested maps.
+     *
+     * @param section The section to convert.
+     * @return The section's values, every subsection converted into a map.
+     */
+    private static Map<String, Object> toMap(ConfigurationSection section) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            values.put(entry.getKey(), entry.getValue() instanceof ConfigurationSection subsection
+                    ? toMap(subsection)
+                    : entry.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Hashes serialized configuration data.
+     *
+     * @param data The serialized data.
+     * @return The SHA-256 hash of the data.
+     */
+    private static byte[] hash(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Gets the amount of bytes written to the file by this object.
+     *
+     * @return The amount of bytes written.
+     * @since 1.10.0
+     */
+    public long getBytesWritten() {
+        return this.bytesWritten.get();
+    }
+
+    /**
+     * Gets the amount of times the file was written by this object.
+     *
+     * @return The amount of writes.
+     * @since 1.10.0
+     */
+    public long getWriteCount() {
+        return this.writes.get();
+    }
+
+    /**
+     * Gets the amount of saves that did not write the file because it already contained the same data.
+     *
+     * @return The amount of skipped saves.
+     * @since 1.10.0
+     */
+    public long getSkippedSaves() {
+        return this.skippedSaves.get();
+    }
+
     /**
      * Saves the default values from your resources' file.
      */
@@ -184,4 +912,13 @@ public class YamlFile {
     public FileConfiguration getAccess() {
         return this.fileConfig;
     }
-}
\ No newline at end of file
+
+    /**
+     * A copy of the configuration, as it would be written to the file.
+     *
+     * @param version The order in which the snapshot was taken.
+     * @param data    The serialized configuration.
+     */
+    private record Snapshot(long version, String data) {
+    }
+}
@@ -0,0 +1,202 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.files;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads several {@link YamlFile}s in parallel, each one on a worker thread, instead of one after the other on the
+ * main thread. Meant to be used while a plugin is enabled:
+ * <pre>{@code
+ * YamlFileLoader loader = new YamlFileLoader(plugin, 4);
+ * loader.add("config.yml");
+ * loader.add("messages.yml");
+ * Map<String, YamlFile> files = loader.load().join();
+ * loader.logTimings();
+ * }</pre>
+ * Every file is created like {@link YamlFile#YamlFile(JavaPlugin, String, Map)} would, saving its default
+ * version and refilling its nodes if needed, except that a file that cannot be read or parsed fails the returned
+ * future instead of only being logged.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class YamlFileLoader {
+
+    /**
+     * The plugin owning the files.
+     */
+    private final JavaPlugin plugin;
+    /**
+     * The maximum amount of files to load at the same time.
+     */
+    private final int parallelism;
+    /**
+     * The files to load, with their refill maps, in the order they were added.
+     */
+    private final Map<String, Map<String, String>> requested = new LinkedHashMap<>();
+    /**
+     * The time each file took to load, in nanoseconds, by file name.
+     */
+    private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+    /**
+     * Whether the files are loaded through their parse cache.
+     */
+    private boolean parseCache;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param plugin      The plugin owning the files.
+     * @param parallelism The maximum amount of files to load at the same time.
+     */
+    public YamlFileLoader(@NotNull JavaPlugin plugin, int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be greater than 0");
+        this.plugin = plugin;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Adds a file to load.
+     *
+     * @param fileName The file name, see {@link YamlFile#YamlFile(JavaPlugin, String)}.
+     * @return This loader.
+     */
+    public YamlFileLoader add(@NotNull String fileName) {
+        return add(fileName, null);
+    }
+
+    /**
+     * Adds a file to load, refilling its nodes once loaded.
+     *
+     * @param fileName  The file name, see {@link YamlFile#YamlFile(JavaPlugin, String, Map)}.
+     * @param mapRefill The default values to add if not set, or null.
+     * @return This loader.
+     */
+    public YamlFileLoader add(@NotNull String fileName, @Nullable Map<String, String> mapRefill) {
+        this.requested.put(fileName, mapRefill);
+        return this;
+    }
+
+    /**
+     * Sets whether the files are loaded through their parse cache, see
+     * {@link YamlFile#YamlFile(JavaPlugin, String, Map, boolean)}.
+     *
+     * @param parseCache Whether to use the parse cache.
+     * @return This loader.
+     */
+    public YamlFileLoader useParseCache(boolean parseCache) {
+        this.parseCache = parseCache;
+        return this;
+    }
+
+    /**
+     * Loads every added file, using up to {@link #parallelism} worker threads that are stopped once every file
+     * is loaded.
+     *
+     * @return A future completed with every loaded file by its name, in the order they were added, or completed
+     * exceptionally if any of them could not be loaded.
+     */
+    public CompletableFuture<Map<String, YamlFile>> load() {
+        List<String> names = new ArrayList<>(this.requested.keySet());
+        if (names.isEmpty()) return CompletableFuture.completedFuture(Collections.emptyMap());
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(this.parallelism, names.size()), task -> {
+            Thread thread = new Thread(task, this.plugin.getName() + " file loader " + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        boolean parseCache = this.parseCache;
+        List<CompletableFuture<YamlFile>> futures = new ArrayList<>(names.size());
+        for (String name : names) {
+            Map<String, String> mapRefill = this.requested.get(name);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                YamlFile file;
+                try {
+                    file = YamlFile.create(this.plugin, name, mapRefill, parseCache);
+                } catch (IOException | InvalidConfigurationException e) {
+                    throw new CompletionException(e);
+                }
+                this.timings.put(name, System.nanoTime() - start);
+                return file;
+            }, workers));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> workers.shutdown())
+                .thenApply(ignored -> {
+                    Map<String, YamlFile> files = new LinkedHashMap<>();
+                    for (int i = 0; i < names.size(); i++) {
+                        files.put(names.get(i), futures.get(i).join());
+                    }
+                    return files;
+                });
+    }
+
+    /**
+     * Gets the time each loaded file took to load, counting from when a worker started creating it.
+     *
+     * @param unit The unit to get the times in.
+     * @return The load time of every file loaded so far, by file name.
+     */
+    public Map<String, Long> getTimings(@NotNull TimeUnit unit) {
+        Map<String, Long> converted = new LinkedHashMap<>();
+        synchronized (this.timings) {
+            this.timings.forEach((name, nanos) -> converted.put(name, unit.convert(nanos, TimeUnit.NANOSECONDS)));
+        }
+        return converted;
+    }
+
+    /**
+     * Logs the time each loaded file took to load, slowest first, using the plugin's logger.
+     */
+    public void logTimings() {
+        List<Map.Entry<String, Long>> entries;
+        synchronized (this.timings) {
+            entries = new ArrayList<>(this.timings.entrySet());
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        for (Map.Entry<String, Long> entry : entries) {
+            this.plugin.getLogger().info(String.format("Loaded %s in %.2f ms", entry.getKey(), entry.getValue() / 1_000_000.0));
+        }
+    }
+}
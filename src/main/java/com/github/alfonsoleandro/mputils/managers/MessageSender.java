@@ -22,20 +22,21 @@ SOFTWARE.
 package com.github.alfonsoleandro.mputils.managers;
 
 import com.github.alfonsoleandro.mputils.files.YamlFile;
+import com.github.alfonsoleandro.mputils.message.MessageTable;
+import com.github.alfonsoleandro.mputils.message.RenderedMessage;
 import com.github.alfonsoleandro.mputils.misc.MessageEnum;
 import com.github.alfonsoleandro.mputils.reloadable.Reloadable;
 import com.github.alfonsoleandro.mputils.reloadable.ReloaderPlugin;
+import com.github.alfonsoleandro.mputils.string.MessageTemplate;
 import com.github.alfonsoleandro.mputils.string.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Messages manager. Should manage every message a plugin can send. Includes several message sending methods.
@@ -49,9 +50,10 @@ import java.util.Map;
 public class MessageSender<E extends MessageEnum> extends Reloadable {
 
     /**
-     * A map containing every configurable message.
+     * Every loaded message, compiled through the same rendering core the current message sender uses.
+     * Replaced as a whole on every reload.
      */
-    private final Map<E, String> messages = new HashMap<>();
+    private volatile MessageTable<E> table;
     /**
      * An array containing every value inside an enum. (enum#values).
      */
@@ -76,11 +78,7 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
     /**
      * The {@link YamlFile} object that will contain every message listed in the enum.
      */
-    private YamlFile messagesYamlFile;
-    /**
-     * A string that goes before every message.
-     */
-    private String prefix;
+    private final YamlFile messagesYamlFile;
 
     /**
      * Creates a new instance of the message sender.
@@ -149,26 +147,18 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
 
 
     /**
-     * Loads every message and the prefix, if the prefix path has been specified.
+     * Loads every message and the prefix, if the prefix path has been specified, into a new table
+     * and then replaces the current one.
      */
     private void loadMessages() {
-        this.messages.clear();
-        FileConfiguration messages = this.messagesYamlFile.getAccess();
-
-        this.prefix = this.prefixPath == null ? null : messages.getString(this.prefixPath);
-
+        Function<E, String> paths;
         if (this.messagesPath != null) {
-            for (E message : this.messagesEnumValues) {
-                this.messages.put(message,
-                        messages.getString(this.messagesPath + "." +
-                                message.toString().toLowerCase(Locale.ENGLISH).replace("_", " ")));
-            }
+            paths = message -> this.messagesPath + "." + message.toString().toLowerCase(Locale.ENGLISH).replace("_", " ");
         } else {
-            for (E message : this.messagesEnumValues) {
-                this.messages.put(message,
-                        messages.getString(message.getPath()));
-            }
+            paths = MessageEnum::getPath;
         }
+        this.table = MessageTable.load(this.messagesEnumValues, paths, MessageEnum::getDefault,
+                this.messagesYamlFile.getAccess(), this.prefixPath, false, null);
     }
 
     /**
@@ -178,7 +168,7 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      * @param msg    The String to send.
      */
     public void send(@NotNull CommandSender sender, @NotNull String msg) {
-        sender.sendMessage(StringUtils.colorizeString((this.prefix == null ? "" : this.prefix + " ") + msg));
+        sender.sendMessage(this.table.format(msg));
     }
 
     /**
@@ -211,13 +201,13 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
      */
     public void broadcast(@Nullable Player excluded, @NotNull E message, String... replacements) {
-        String msg = getString(message, replacements);
+        RenderedMessage rendered = this.table.render(message, replacements);
 
         for (Player toSend : Bukkit.getOnlinePlayers()) {
             if (toSend.equals(excluded)) continue;
-            send(toSend, msg);
+            rendered.sendTo(toSend);
         }
-        Bukkit.getConsoleSender().sendMessage(StringUtils.colorizeString((this.prefix == null ? "" : this.prefix + " ") + msg));
+        rendered.sendTo(Bukkit.getConsoleSender());
     }
 
     /**
@@ -231,13 +221,14 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
      */
     public void title(@NotNull Player player, @Nullable E title, @Nullable E subtitle, int stay, String... replacements) {
+        MessageTable<E> table = this.table;
         String ttl = null;
         if (title != null) {
-            ttl = getString(title, replacements);
+            ttl = table.getString(title, replacements);
         }
         String sub = null;
         if (subtitle != null) {
-            sub = getString(subtitle, replacements);
+            sub = table.getString(subtitle, replacements);
         }
         player.sendTitle(ttl == null ? "" : StringUtils.colorizeString(ttl),
                 sub == null ? "" : StringUtils.colorizeString(sub),
@@ -258,14 +249,10 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      */
     public void title(@NotNull Player player, @Nullable String title, @Nullable String subtitle, int stay, String... replacements) {
         if (title != null) {
-            for (int i = 0; i < replacements.length; i++) {
-                title = title.replace(replacements[i], replacements[++i]);
-            }
+            title = MessageTemplate.replace(title, replacements);
         }
         if (subtitle != null) {
-            for (int i = 0; i < replacements.length; i++) {
-                subtitle = subtitle.replace(replacements[i], replacements[++i]);
-            }
+            subtitle = MessageTemplate.replace(subtitle, replacements);
         }
         player.sendTitle(title == null ? "" : StringUtils.colorizeString(title),
                 subtitle == null ? "" : StringUtils.colorizeString(subtitle),
@@ -283,24 +270,24 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      * @return The string that goes with the given message with the given strings replaced.
      */
     public String getString(E message, String... replacements) {
-        String msg = this.messages.get(message);
-        if (msg == null) msg = message.getDefault();
-        for (int i = 0; i < replacements.length; i++) {
-            msg = msg.replace(replacements[i], replacements[++i]);
-        }
-        return msg;
+        return this.table.getString(message, replacements);
     }
 
 
     /**
      * Reloads every reloadable class, reloading the plugin.
      *
-     * @param deep True to re define the value of {@link #messagesYamlFile}. Usually not necessary.
+     * @param deep True to read {@link #messagesYamlFile} from the disk again, restoring it first if it was deleted.
+     *             The same object is reloaded, so anything holding it, such as a file watcher, keeps working.
+     *             Usually not necessary.
      * @see Reloadable
      */
     @Override
     public void reload(boolean deep) {
-        if (deep) this.messagesYamlFile = new YamlFile(this.plugin, this.messagesYamlFile.getFileName());
+        if (deep) {
+            this.messagesYamlFile.saveDefault();
+            this.messagesYamlFile.loadFileConfiguration();
+        }
         this.loadMessages();
     }
 
@@ -0,0 +1,219 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Renders messages on worker threads and delivers them from the main thread. Rendered messages are handed back
+ * through a single queue, drained once per tick by a single task, which is only running while there is anything
+ * left to deliver.
+ * <p>
+ * Each receiver gets its messages in the order they were submitted, a message that finished rendering waits for
+ * every message submitted before it to the same receiver. Messages sent without this pipeline are not ordered
+ * against the ones sent through it.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class AsyncMessagePipeline {
+
+    /**
+     * The plugin owning the delivery task.
+     */
+    private final Plugin plugin;
+    /**
+     * The executor rendering the messages.
+     */
+    private final Executor workers;
+    /**
+     * Every message not delivered yet, in the order they were submitted.
+     */
+    private final ConcurrentLinkedQueue<PendingMessage> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * Whether the delivery task is running.
+     */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /**
+     * Creates a new pipeline rendering messages on the server's asynchronous scheduler.
+     *
+     * @param plugin The plugin that will own the rendering and delivery tasks.
+     */
+    public AsyncMessagePipeline(@NotNull Plugin plugin) {
+        this(plugin, task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task));
+    }
+
+    /**
+     * Creates a new pipeline.
+     *
+     * @param plugin  The plugin that will own the delivery task.
+     * @param workers The executor that will render the messages.
+     */
+    public AsyncMessagePipeline(@NotNull Plugin plugin, @NotNull Executor workers) {
+        this.plugin = plugin;
+        this.workers = workers;
+    }
+
+    /**
+     * Renders a message on a worker thread and delivers it to a receiver from the main thread.
+     *
+     * @param receiver The receiver of the message.
+     * @param renderer Renders the message, called from a worker thread.
+     * @return A future completed once the message is delivered, or completed exceptionally with whatever the
+     * renderer threw. Players that logged out before the delivery are skipped, completing the future normally.
+     */
+    public CompletableFuture<Void> submit(@NotNull CommandSender receiver, @NotNull Supplier<RenderedMessage> renderer) {
+        PendingMessage pending = new PendingMessage(receiver);
+        this.queue.add(pending);
+        try {
+            this.workers.execute(() -> {
+                try {
+                    pending.rendered = renderer.get();
+                } catch (Throwable throwable) {
+                    pending.error = throwable;
+                }
+                pending.ready = true;
+                startDraining();
+            });
+        } catch (RuntimeException e) {
+            pending.error = e;
+            pending.ready = true;
+            startDraining();
+        }
+        return pending.future;
+    }
+
+    /**
+     * Starts the delivery task, unless it is already running.
+     */
+    private void startDraining() {
+        if (!this.draining.compareAndSet(false, true)) return;
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                drain();
+                if (!AsyncMessagePipeline.this.queue.isEmpty()) return;
+                AsyncMessagePipeline.this.draining.set(false);
+                // A message may have finished right before the flag was cleared, keep running for it.
+                if (AsyncMessagePipeline.this.queue.isEmpty() || !AsyncMessagePipeline.this.draining.compareAndSet(false, true)) {
+                    cancel();
+                }
+            }
+        }.runTaskTimer(this.plugin, 1, 1);
+    }
+
+    /**
+     * Delivers every rendered message whose receiver has no earlier message still rendering.
+     */
+    private void drain() {
+        Set<CommandSender> waiting = null;
+        Iterator<PendingMessage> iterator = this.queue.iterator();
+        while (iterator.hasNext()) {
+            PendingMessage pending = iterator.next();
+            if (!pending.ready) {
+                if (waiting == null) waiting = Collections.newSetFromMap(new IdentityHashMap<>());
+                waiting.add(pending.receiver);
+                continue;
+            }
+            if (waiting != null && waiting.contains(pending.receiver)) continue;
+            iterator.remove();
+            pending.deliver();
+        }
+    }
+
+    /**
+     * Gets the amount of messages not delivered yet, the ones still rendering included.
+     *
+     * @return The amount of pending messages.
+     */
+    public int getPending() {
+        return this.queue.size();
+    }
+
+    /**
+     * A message submitted to the pipeline.
+     */
+    private static final class PendingMessage {
+
+        /**
+         * The receiver of the message.
+         */
+        private final CommandSender receiver;
+        /**
+         * Completed once the message is delivered.
+         */
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        /**
+         * The rendered message, set before {@link #ready}.
+         */
+        private RenderedMessage rendered;
+        /**
+         * What the renderer threw, if anything, set before {@link #ready}.
+         */
+        private Throwable error;
+        /**
+         * Whether the message finished rendering, successfully or not.
+         */
+        private volatile boolean ready;
+
+        /**
+         * Creates a new pending message.
+         *
+         * @param receiver The receiver of the message.
+         */
+        private PendingMessage(CommandSender receiver) {
+            this.receiver = receiver;
+        }
+
+        /**
+         * Delivers the rendered message, or fails the future if it could not be rendered.
+         */
+        private void deliver() {
+            if (this.error != null) {
+                this.future.completeExceptionally(this.error);
+                return;
+            }
+            try {
+                if (!(this.receiver instanceof Player player) || player.isOnline()) this.rendered.sendTo(this.receiver);
+                this.future.complete(null);
+            } catch (RuntimeException e) {
+                this.future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A fixed group of players, resolved once, that can receive any amount of messages.
+ * Meant to be built once and reused for every broadcast sent to the same group within a tick.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class Audience {
+
+    /**
+     * Every player in this audience.
+     */
+    private final Player[] players;
+
+    /**
+     * Creates a new audience.
+     *
+     * @param players Every player in this audience.
+     */
+    private Audience(Player[] players) {
+        this.players = players;
+    }
+
+    /**
+     * Creates an audience with every player currently online.
+     *
+     * @return The new audience.
+     */
+    public static Audience everyone() {
+        return new Audience(Bukkit.getOnlinePlayers().toArray(new Player[0]));
+    }
+
+    /**
+     * Creates an audience with every player currently online, except for the ones whose unique id is in the
+     * given set.
+     *
+     * @param excluded The unique ids of the players to exclude.
+     * @return The new audience.
+     */
+    public static Audience everyoneExcept(@NotNull Set<UUID> excluded) {
+        if (excluded.isEmpty()) return everyone();
+        return everyoneExcept(player -> excluded.contains(player.getUniqueId()));
+    }
+
+    /**
+     * Creates an audience with every player currently online, except for the ones matching the given predicate.
+     *
+     * @param excluded The predicate matching the players to exclude.
+     * @return The new audience.
+     */
+    public static Audience everyoneExcept(@NotNull Predicate<? super Player> excluded) {
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        Player[] players = new Player[online.size()];
+        int size = 0;
+        for (Player player : online) {
+            if (!excluded.test(player)) players[size++] = player;
+        }
+        return new Audience(size == players.length ? players : Arrays.copyOf(players, size));
+    }
+
+    /**
+     * Creates an audience with the given players.
+     *
+     * @param players The players in the audience.
+     * @return The new audience.
+     */
+    public static Audience of(@NotNull Collection<? extends Player> players) {
+        return new Audience(players.toArray(new Player[0]));
+    }
+
+    /**
+     * Sends a message to every player in this audience that is still online.
+     *
+     * @param message The message to send.
+     */
+    public void send(@NotNull RenderedMessage message) {
+        for (Player player : this.players) {
+            if (player.isOnline()) message.sendTo(player);
+        }
+    }
+
+    /**
+     * Sends a message that may differ between players, such as a translated one, to every player in this audience
+     * that is still online.
+     *
+     * @param messages Gives the message to send to each player.
+     */
+    public void send(@NotNull Function<? super Player, RenderedMessage> messages) {
+        for (Player player : this.players) {
+            if (player.isOnline()) messages.apply(player).sendTo(player);
+        }
+    }
+
+    /**
+     * Gets every player in this audience.
+     *
+     * @return An unmodifiable list of the players in this audience.
+     */
+    public List<Player> getPlayers() {
+        return Collections.unmodifiableList(Arrays.asList(this.players));
+    }
+
+    /**
+     * Gets the amount of players in this audience.
+     *
+     * @return The size of this audience.
+     */
+    public int size() {
+        return this.players.length;
+    }
+}
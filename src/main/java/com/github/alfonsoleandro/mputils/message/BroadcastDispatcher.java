@@ -0,0 +1,170 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Delivers messages to large amounts of recipients over several ticks, so a single tick never sends more than
+ * a given amount of messages or spends more than a given amount of time sending them.
+ * <p>
+ * Broadcasts are delivered one after the other, in the order they were dispatched, so every recipient receives
+ * them in that same order. A single repeating task is running while there is anything left to deliver.
+ * Every method is meant to be called from the main thread.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class BroadcastDispatcher {
+
+    /**
+     * The plugin owning the delivery task.
+     */
+    private final Plugin plugin;
+    /**
+     * The broadcasts waiting to be delivered, the one being delivered first.
+     */
+    private final Deque<BroadcastTask> queue = new ArrayDeque<>();
+    /**
+     * The maximum amount of recipients to deliver messages to per tick.
+     */
+    private int recipientsPerTick;
+    /**
+     * The maximum amount of time, in nanoseconds, to spend delivering messages per tick.
+     */
+    private long nanosPerTick;
+    /**
+     * The repeating delivery task, null while there is nothing to deliver.
+     */
+    private BukkitTask task;
+
+    /**
+     * Creates a new broadcast dispatcher.
+     *
+     * @param plugin            The plugin that will own the delivery task.
+     * @param recipientsPerTick The maximum amount of recipients to deliver messages to per tick.
+     * @param maxMillisPerTick  The maximum amount of milliseconds to spend delivering messages per tick.
+     */
+    public BroadcastDispatcher(@NotNull Plugin plugin, int recipientsPerTick, long maxMillisPerTick) {
+        this.plugin = plugin;
+        setRecipientsPerTick(recipientsPerTick);
+        setMaxMillisPerTick(maxMillisPerTick);
+    }
+
+    /**
+     * Queues a message to be delivered to the given recipients, starting next tick.
+     *
+     * @param message    The message to deliver.
+     * @param recipients The recipients, in delivery order.
+     * @return The task tracking this broadcast's progress.
+     */
+    public BroadcastTask dispatch(@NotNull RenderedMessage message, @NotNull Collection<? extends CommandSender> recipients) {
+        return dispatch(recipient -> message, recipients);
+    }
+
+    /**
+     * Queues a message that may differ between recipients, such as a translated one, to be delivered to the given
+     * recipients, starting next tick.
+     *
+     * @param messages   Gives the message to deliver to each recipient, called right before delivering it.
+     * @param recipients The recipients, in delivery order.
+     * @return The task tracking this broadcast's progress.
+     * @since 1.10.0
+     */
+    public BroadcastTask dispatch(@NotNull Function<? super CommandSender, RenderedMessage> messages,
+                                  @NotNull Collection<? extends CommandSender> recipients) {
+        BroadcastTask broadcast = new BroadcastTask(messages, recipients.toArray(new CommandSender[0]));
+        this.queue.add(broadcast);
+        if (this.task == null) {
+            this.task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    tick();
+                }
+            }.runTaskTimer(this.plugin, 1, 1);
+        }
+        return broadcast;
+    }
+
+    /**
+     * Delivers as many messages as the budget allows, and stops the delivery task if nothing is left.
+     */
+    private void tick() {
+        long deadline = System.nanoTime() + this.nanosPerTick;
+        int budget = this.recipientsPerTick;
+
+        while (!this.queue.isEmpty()) {
+            BroadcastTask broadcast = this.queue.peek();
+            if (!broadcast.isDone()) {
+                budget -= broadcast.deliver(budget, deadline);
+                if (!broadcast.isDone()) break;
+            }
+            this.queue.poll();
+            if (!broadcast.isCancelled() && !broadcast.isCompleted()) broadcast.complete();
+            if (budget <= 0 || System.nanoTime() >= deadline) break;
+        }
+
+        if (this.queue.isEmpty()) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    /**
+     * Gets the amount of broadcasts not finished yet, the one being delivered included.
+     *
+     * @return The amount of pending broadcasts.
+     */
+    public int getPending() {
+        return this.queue.size();
+    }
+
+    /**
+     * Sets the maximum amount of recipients to deliver messages to per tick.
+     *
+     * @param recipientsPerTick The amount of recipients. Must be greater than 0.
+     */
+    public void setRecipientsPerTick(int recipientsPerTick) {
+        if (recipientsPerTick <= 0) throw new IllegalArgumentException("Recipients per tick must be greater than 0");
+        this.recipientsPerTick = recipientsPerTick;
+    }
+
+    /**
+     * Sets the maximum amount of time to spend delivering messages per tick.
+     *
+     * @param maxMillisPerTick The amount of milliseconds. Must be greater than 0.
+     */
+    public void setMaxMillisPerTick(long maxMillisPerTick) {
+        if (maxMillisPerTick <= 0) throw new IllegalArgumentException("Milliseconds per tick must be greater than 0");
+        this.nanosPerTick = TimeUnit.MILLISECONDS.toNanos(maxMillisPerTick);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A message being delivered to a list of recipients over several ticks by a {@link BroadcastDispatcher}.
+ * Every method is meant to be called from the main thread.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class BroadcastTask {
+
+    /**
+     * Gives the message to deliver to each recipient.
+     */
+    private final Function<? super CommandSender, RenderedMessage> messages;
+    /**
+     * Every recipient, in delivery order.
+     */
+    private final CommandSender[] recipients;
+    /**
+     * The index of the next recipient to deliver the message to.
+     */
+    private int next;
+    /**
+     * The amount of recipients the message was delivered to.
+     */
+    private int delivered;
+    /**
+     * The amount of recipients that were skipped for not being online anymore.
+     */
+    private int skipped;
+    /**
+     * Whether this task was cancelled before delivering the message to every recipient.
+     */
+    private boolean cancelled;
+    /**
+     * Called at the end of every tick this task delivered the message to at least one recipient.
+     */
+    private Consumer<BroadcastTask> onProgress;
+    /**
+     * Called once, when every recipient was either delivered the message or skipped.
+     */
+    private Consumer<BroadcastTask> onComplete;
+    /**
+     * Whether the completion callback was already called, so it is never called twice.
+     */
+    private boolean completed;
+
+    /**
+     * Creates a new broadcast task.
+     *
+     * @param messages   Gives the message to deliver to each recipient.
+     * @param recipients Every recipient, in delivery order.
+     */
+    BroadcastTask(@NotNull Function<? super CommandSender, RenderedMessage> messages,
+                  @NotNull CommandSender[] recipients) {
+        this.messages = messages;
+        this.recipients = recipients;
+    }
+
+    /**
+     * Delivers the message to the next recipients.
+     *
+     * @param budget   The maximum amount of recipients to process.
+     * @param deadline The {@link System#nanoTime()} after which no more recipients should be processed.
+     * @return The amount of recipients processed.
+     */
+    int deliver(int budget, long deadline) {
+        int processed = 0;
+        while (processed < budget && this.next < this.recipients.length) {
+            CommandSender recipient = this.recipients[this.next];
+            this.recipients[this.next++] = null;
+            if (recipient instanceof Player player && !player.isOnline()) {
+                this.skipped++;
+            } else {
+                this.messages.apply(recipient).sendTo(recipient);
+                this.delivered++;
+            }
+            // Reading the clock is not free, check it every few recipients.
+            if ((++processed & 15) == 0 && System.nanoTime() >= deadline) break;
+        }
+        if (processed > 0 && this.onProgress != null) this.onProgress.accept(this);
+        return processed;
+    }
+
+    /**
+     * Calls the completion callback, if any and not called yet.
+     */
+    void complete() {
+        if (this.completed || this.cancelled || this.onComplete == null) return;
+        this.completed = true;
+        this.onComplete.accept(this);
+    }
+
+    /**
+     * Checks if the completion callback was already called.
+     *
+     * @return true if the completion callback was called.
+     */
+    boolean isCompleted() {
+        return this.completed;
+    }
+
+    /**
+     * Sets the callback to call at the end of every tick this task delivered the message to at least one recipient.
+     *
+     * @param onProgress The callback, receiving this task.
+     * @return This task.
+     */
+    public BroadcastTask onProgress(Consumer<BroadcastTask> onProgress) {
+        this.onProgress = onProgress;
+        return this;
+    }
+
+    /**
+     * Sets the callback to call once every recipient was either delivered the message or skipped.
+     * If that already happened, the callback is called right away. Never called more than once, nor if this task
+     * is cancelled.
+     *
+     * @param onComplete The callback, receiving this task.
+     * @return This task.
+     */
+    public BroadcastTask onComplete(Consumer<BroadcastTask> onComplete) {
+        this.onComplete = onComplete;
+        if (isDone()) complete();
+        return this;
+    }
+
+    /**
+     * Stops delivering the message. Recipients that did not receive it yet will not receive it.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Checks if this task has no more recipients to deliver the message to, either because it finished or
+     * because it was cancelled.
+     *
+     * @return true if this task is done.
+     */
+    public boolean isDone() {
+        return this.cancelled || this.next == this.recipients.length;
+    }
+
+    /**
+     * Checks if this task was cancelled.
+     *
+     * @return true if {@link #cancel()} was called.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Gets the amount of recipients the message was delivered to.
+     *
+     * @return The amount of recipients that received the message.
+     */
+    public int getDelivered() {
+        return this.delivered;
+    }
+
+    /**
+     * Gets the amount of recipients that were skipped for not being online anymore.
+     *
+     * @return The amount of skipped recipients.
+     */
+    public int getSkipped() {
+        return this.skipped;
+    }
+
+    /**
+     * Gets the total amount of recipients.
+     *
+     * @return The amount of recipients this task was created with.
+     */
+    public int getTotal() {
+        return this.recipients.length;
+    }
+
+    /**
+     * Gets the fraction of recipients already processed.
+     *
+     * @return A number between 0 and 1.
+     */
+    public double getProgress() {
+        return this.recipients.length == 0 ? 1 : (double) this.next / this.recipients.length;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import com.github.alfonsoleandro.mputils.string.MessageTemplate;
+import com.github.alfonsoleandro.mputils.string.Placeholders;
+import com.github.alfonsoleandro.mputils.string.StringUtils;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A message already converted into chat components, prefix included, with a slot for each of its placeholders.
+ * Only the placeholders' values are converted when rendering, every literal part is converted once and copied.
+ * <p>
+ * The message is colorized as a whole before being split, and rendering falls back to converting the whole
+ * message again whenever a color code could be formed across a placeholder, so the result always matches the
+ * colorized legacy string. Every render returns new components, which can be modified freely. URLs are not turned
+ * into links, same as in legacy strings.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class ComponentTemplate {
+
+    /**
+     * The string that goes before the message.
+     */
+    private final String prefix;
+    /**
+     * The template this object was built from.
+     */
+    private final MessageTemplate template;
+    /**
+     * The components for each literal segment, one more than the template's placeholders, or null if the message
+     * is always converted as a whole.
+     */
+    private final BaseComponent[][] literals;
+    /**
+     * The legacy color and format codes active at each placeholder, applied to the placeholder's value.
+     */
+    private final String[] slotFormats;
+    /**
+     * The total amount of components in {@link #literals}.
+     */
+    private final int literalComponents;
+
+    /**
+     * Converts a message into components.
+     *
+     * @param prefix   The string that goes before the message, already followed by a space, or an empty string.
+     * @param template The compiled message.
+     */
+    public ComponentTemplate(@NotNull String prefix, @NotNull MessageTemplate template) {
+        this.prefix = prefix;
+        this.template = template;
+        int placeholders = template.getPlaceholderCount();
+        this.slotFormats = new String[placeholders];
+
+        MessageTemplate colorized = MessageTemplate.compile(StringUtils.colorizeString(template.getSource()));
+        if (!isSplittable(template, colorized)) {
+            this.literals = null;
+            this.literalComponents = 0;
+            return;
+        }
+
+        this.literals = new BaseComponent[placeholders + 1][];
+        String activeFormat = "";
+        int components = 0;
+        for (int i = 0; i <= placeholders; i++) {
+            String literal = (i == 0 ? StringUtils.colorizeString(prefix) : "") + colorized.getLiteral(i);
+            this.literals[i] = literal.isEmpty() ? new BaseComponent[0] : convert(activeFormat + literal);
+            components += this.literals[i].length;
+            activeFormat = getActiveFormat(activeFormat + literal);
+            if (i < placeholders) this.slotFormats[i] = activeFormat;
+        }
+        this.literalComponents = components;
+    }
+
+    /**
+     * Checks if a colorized message can be converted one literal at a time: colorizing did not change any
+     * placeholder, and no literal before a placeholder ends with an incomplete color code that a placeholder's
+     * value could complete.
+     *
+     * @param template  The message.
+     * @param colorized The colorized message.
+     * @return true if every literal can be converted on its own.
+     */
+    private static boolean isSplittable(MessageTemplate template, MessageTemplate colorized) {
+        if (colorized.getPlaceholderCount() != template.getPlaceholderCount()) return false;
+        for (int i = 0; i < template.getPlaceholderCount(); i++) {
+            if (!colorized.getPlaceholder(i).equals(template.getPlaceholder(i))) return false;
+            if (endsWithIncompleteCode(colorized.getLiteral(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a colorized string ends with the start of a color code, "&amp;", "§" or "&amp;#" followed by less
+     * than six hexadecimal digits.
+     *
+     * @param colorized The colorized string.
+     * @return true if the string ends with an incomplete color code.
+     */
+    private static boolean endsWithIncompleteCode(String colorized) {
+        int length = colorized.length();
+        if (length == 0) return false;
+        char last = colorized.charAt(length - 1);
+        if (last == '&' || last == ChatColor.COLOR_CHAR) return true;
+        int hex = colorized.lastIndexOf("&#");
+        if (hex == -1 || length - hex > 7) return false;
+        for (int i = hex + 2; i < length; i++) {
+            if (Character.digit(colorized.charAt(i), 16) == -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the components for this message with its placeholders replaced.
+     *
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     *                     If any of the strings to replace is not a placeholder, the whole message is converted again.
+     * @return The components to send.
+     */
+    public BaseComponent[] render(String... replacements) {
+        if (this.literals == null || !MessageTemplate.arePlaceholders(replacements)
+                || !this.template.isSegmentable(replacements)) {
+            return convert(StringUtils.colorizeString(this.prefix + this.template.render(replacements)));
+        }
+        if (this.slotFormats.length == 0) return copy(this.literals[0]);
+
+        String[] values = new String[this.slotFormats.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.template.getReplacement(i, replacements);
+        }
+        return renderSlots(values);
+    }
+
+    /**
+     * Gets the components for this message with its placeholders replaced by the given typed values.
+     * Values whose placeholder is not present in this message are never formatted or evaluated.
+     *
+     * @param placeholders The placeholder values.
+     * @return The components to send.
+     */
+    public BaseComponent[] render(@NotNull Placeholders placeholders) {
+        if (this.slotFormats.length > 0 && !this.template.isSegmentable(placeholders)) {
+            return convert(StringUtils.colorizeString(this.prefix + this.template.render(placeholders)));
+        }
+        if (this.slotFormats.length == 0) {
+            return this.literals == null ? convert(StringUtils.colorizeString(this.prefix + this.template.getSource()))
+                    : copy(this.literals[0]);
+        }
+
+        String[] values = new String[this.slotFormats.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.template.getReplacement(i, placeholders);
+        }
+        return renderSlots(values);
+    }
+
+    /**
+     * Joins copies of the cached literal components with the components for each placeholder's value.
+     * If any value contains a color code, which would change the color of the text after it, the whole message is
+     * converted again instead.
+     *
+     * @param values The value for the placeholder at each index.
+     * @return The components to send.
+     */
+    private BaseComponent[] renderSlots(String[] values) {
+        if (this.literals == null || containsColorCodes(values)) {
+            StringBuilder legacy = new StringBuilder(this.prefix);
+            for (int i = 0; i < values.length; i++) {
+                legacy.append(this.template.getLiteral(i)).append(values[i]);
+            }
+            legacy.append(this.template.getLiteral(values.length));
+            return convert(StringUtils.colorizeString(legacy.toString()));
+        }
+
+        List<BaseComponent> result = new ArrayList<>(this.literalComponents + values.length);
+        for (int i = 0; i < values.length; i++) {
+            addCopies(result, this.literals[i]);
+            if (!values[i].isEmpty()) Collections.addAll(result, convert(this.slotFormats[i] + values[i]));
+        }
+        addCopies(result, this.literals[values.length]);
+        return result.toArray(new BaseComponent[0]);
+    }
+
+    /**
+     * Checks if any of the given values contains a color code, or the start of one.
+     *
+     * @param values The values to check.
+     * @return true if any value contains '&amp;' or '§'.
+     */
+    private static boolean containsColorCodes(String[] values) {
+        for (String value : values) {
+            if (value.indexOf('&') != -1 || value.indexOf(ChatColor.COLOR_CHAR) != -1) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Converts a colorized string into chat components, without turning URLs into links.
+     *
+     * @param colorized The colorized string.
+     * @return The chat components.
+     */
+    private static BaseComponent[] convert(String colorized) {
+        BaseComponent[] components = TextComponent.fromLegacyText(colorized);
+        for (BaseComponent component : components) {
+            ClickEvent click = component.getClickEvent();
+            if (click != null && click.getAction() == ClickEvent.Action.OPEN_URL) component.setClickEvent(null);
+        }
+        return components;
+    }
+
+    /**
+     * Copies cached components.
+     *
+     * @param components The components to copy.
+     * @return A new array with a copy of each component.
+     */
+    private static BaseComponent[] copy(BaseComponent[] components) {
+        BaseComponent[] copies = new BaseComponent[components.length];
+        for (int i = 0; i < components.length; i++) {
+            copies[i] = components[i].duplicate();
+        }
+        return copies;
+    }
+
+    /**
+     * Adds a copy of each cached component to a list.
+     *
+     * @param result     The list to add to.
+     * @param components The components to copy.
+     */
+    private static void addCopies(List<BaseComponent> result, BaseComponent[] components) {
+        for (BaseComponent component : components) {
+            result.add(component.duplicate());
+        }
+    }
+
+    /**
+     * Gets the color and format codes still active at the end of a colorized string.
+     *
+     * @param colorized The colorized string.
+     * @return The last color code (RGB ones included) followed by every format code applied after it.
+     */
+    private static String getActiveFormat(String colorized) {
+        String color = "";
+        StringBuilder formats = new StringBuilder();
+        for (int i = 0; i + 1 < colorized.length(); i++) {
+            if (colorized.charAt(i) != ChatColor.COLOR_CHAR) continue;
+            char code = Character.toLowerCase(colorized.charAt(i + 1));
+            if (code == 'x' && i + 14 <= colorized.length()) {
+                color = colorized.substring(i, i + 14);
+                formats.setLength(0);
+                i += 13;
+            } else if ((code >= '0' && code <= '9') || (code >= 'a' && code <= 'f')) {
+                color = colorized.substring(i, i + 2);
+                formats.setLength(0);
+                i++;
+            } else if (code == 'r') {
+                color = "";
+                formats.setLength(0);
+                i++;
+            } else if (code >= 'k' && code <= 'o') {
+                if (formats.indexOf(String.valueOf(code)) == -1) formats.append(ChatColor.COLOR_CHAR).append(code);
+                i++;
+            }
+        }
+        return color + formats;
+    }
+
+    /**
+     * Gets the template this object was built from.
+     *
+     * @return The compiled message.
+     */
+    public MessageTemplate getTemplate() {
+        return this.template;
+    }
+}
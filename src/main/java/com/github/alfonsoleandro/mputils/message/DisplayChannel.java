@@ -0,0 +1,395 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the titles, action bars and boss bars shown to each player. Only the latest value set for each of them
+ * during a tick is kept, and every pending value is sent at once by a single task scheduled for the next tick.
+ * Values equal to the ones the player is already being shown are not sent again.
+ * <p>
+ * Values are sent as they are given, they should already be colorized. Every method is meant to be called from
+ * the main thread.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class DisplayChannel {
+
+    /**
+     * The amount of ticks an action bar is considered to be shown after being sent. The client shows them for a
+     * little longer, so an action bar that keeps being set is sent again before it starts fading.
+     */
+    public static final int ACTION_BAR_TICKS = 40;
+    /**
+     * The length of a server tick, in nanoseconds.
+     */
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * The plugin owning the flush task.
+     */
+    private final Plugin plugin;
+    /**
+     * The state of every player that was shown something, by their unique id.
+     */
+    private final Map<UUID, PlayerDisplay> displays = new HashMap<>();
+    /**
+     * The players with values waiting to be sent, in the order they were first set.
+     */
+    private final List<PlayerDisplay> pending = new ArrayList<>();
+    /**
+     * The task that will send every pending value, null while there is nothing to send.
+     */
+    private BukkitTask task;
+
+    /**
+     * Creates a new display channel.
+     *
+     * @param plugin The plugin that will own the flush task.
+     */
+    public DisplayChannel(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Sets the title and subtitle to show to a player, replacing any other set this tick.
+     *
+     * @param player   The player to show the title to.
+     * @param title    The title, or null for no title.
+     * @param subtitle The subtitle, or null for no subtitle.
+     * @param fadeIn   The amount of ticks the title takes to appear.
+     * @param stay     The amount of ticks the title stays.
+     * @param fadeOut  The amount of ticks the title takes to disappear.
+     */
+    public void title(@NotNull Player player, @Nullable String title, @Nullable String subtitle,
+                      int fadeIn, int stay, int fadeOut) {
+        PlayerDisplay display = getDisplay(player);
+        display.title = title == null ? "" : title;
+        display.subtitle = subtitle == null ? "" : subtitle;
+        display.fadeIn = fadeIn;
+        display.stay = stay;
+        display.fadeOut = fadeOut;
+        display.titlePending = true;
+        markPending(display);
+    }
+
+    /**
+     * Sets the action bar to show to a player, replacing any other set this tick.
+     *
+     * @param player    The player to show the action bar to.
+     * @param actionBar The action bar's text.
+     */
+    public void actionBar(@NotNull Player player, @NotNull String actionBar) {
+        PlayerDisplay display = getDisplay(player);
+        display.actionBar = actionBar;
+        display.actionBarPending = true;
+        markPending(display);
+    }
+
+    /**
+     * Sets the boss bar to show to a player, replacing any other set this tick. Every player has at most one
+     * boss bar from this channel, which is updated instead of being replaced, and only in what changed.
+     *
+     * @param player   The player to show the boss bar to.
+     * @param title    The boss bar's title.
+     * @param progress The boss bar's progress, between 0 and 1.
+     * @param color    The boss bar's color.
+     * @param style    The boss bar's style.
+     */
+    public void bossBar(@NotNull Player player, @NotNull String title, double progress,
+                        @NotNull BarColor color, @NotNull BarStyle style) {
+        if (progress < 0 || progress > 1) throw new IllegalArgumentException("Progress must be between 0 and 1");
+        PlayerDisplay display = getDisplay(player);
+        display.barTitle = title;
+        display.barProgress = progress;
+        display.barColor = color;
+        display.barStyle = style;
+        display.barPending = true;
+        markPending(display);
+    }
+
+    /**
+     * Hides a player's boss bar, replacing any other boss bar set this tick.
+     *
+     * @param player The player to hide the boss bar from.
+     */
+    public void hideBossBar(@NotNull Player player) {
+        PlayerDisplay display = this.displays.get(player.getUniqueId());
+        if (display == null || display.player != player) return;
+        display.barTitle = null;
+        display.barPending = true;
+        markPending(display);
+    }
+
+    /**
+     * Gets the state of a player, creating it if necessary. A player that logged in again gets a new state, since
+     * their client is not showing anything anymore.
+     *
+     * @param player The player.
+     * @return The player's state.
+     */
+    private PlayerDisplay getDisplay(Player player) {
+        PlayerDisplay display = this.displays.get(player.getUniqueId());
+        if (display == null || display.player != player) {
+            if (display != null) display.removeBossBar();
+            display = new PlayerDisplay(player);
+            this.displays.put(player.getUniqueId(), display);
+        }
+        return display;
+    }
+
+    /**
+     * Marks a player as having values waiting to be sent, scheduling the flush task if necessary.
+     *
+     * @param display The player's state.
+     */
+    private void markPending(PlayerDisplay display) {
+        if (display.pending) return;
+        display.pending = true;
+        this.pending.add(display);
+        if (this.task == null) {
+            this.task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    DisplayChannel.this.task = null;
+                    flush();
+                }
+            }.runTask(this.plugin);
+        }
+    }
+
+    /**
+     * Sends every pending value right away, and forgets every player that is not online anymore.
+     */
+    public void flush() {
+        long now = System.nanoTime();
+        for (PlayerDisplay display : this.pending) {
+            display.pending = false;
+            if (display.player.isOnline()) display.flush(now);
+        }
+        this.pending.clear();
+
+        Iterator<PlayerDisplay> iterator = this.displays.values().iterator();
+        while (iterator.hasNext()) {
+            PlayerDisplay display = iterator.next();
+            if (display.player.isOnline()) continue;
+            display.removeBossBar();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Forgets everything shown to a player and hides their boss bar. Pending values for the player are discarded.
+     *
+     * @param player The player to forget.
+     */
+    public void forget(@NotNull Player player) {
+        PlayerDisplay display = this.displays.remove(player.getUniqueId());
+        if (display == null) return;
+        display.removeBossBar();
+        if (display.pending) {
+            display.pending = false;
+            this.pending.remove(display);
+        }
+    }
+
+    /**
+     * Forgets every player, hiding every boss bar, and cancels the flush task.
+     */
+    public void clear() {
+        for (PlayerDisplay display : this.displays.values()) {
+            display.removeBossBar();
+            display.pending = false;
+        }
+        this.displays.clear();
+        this.pending.clear();
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    /**
+     * What a player is being shown, and what is waiting to be shown.
+     */
+    private static final class PlayerDisplay {
+
+        /**
+         * The player, this state is only valid for this player's session.
+         */
+        private final Player player;
+        /**
+         * Whether this player is in the pending list.
+         */
+        private boolean pending;
+
+        /**
+         * The title to send.
+         */
+        private String title;
+        /**
+         * The subtitle to send.
+         */
+        private String subtitle;
+        /**
+         * The title's fade in, stay and fade out times, in ticks.
+         */
+        private int fadeIn, stay, fadeOut;
+        /**
+         * Whether a title was set since the last flush.
+         */
+        private boolean titlePending;
+        /**
+         * The title and subtitle last sent, or null if none was sent.
+         */
+        private String shownTitle, shownSubtitle;
+        /**
+         * The {@link System#nanoTime()} at which the last sent title stops being fully shown.
+         */
+        private long titleShownUntil;
+
+        /**
+         * The action bar to send.
+         */
+        private String actionBar;
+        /**
+         * Whether an action bar was set since the last flush.
+         */
+        private boolean actionBarPending;
+        /**
+         * The action bar last sent, or null if none was sent.
+         */
+        private String shownActionBar;
+        /**
+         * The {@link System#nanoTime()} at which the last sent action bar stops being considered shown.
+         */
+        private long actionBarShownUntil;
+
+        /**
+         * The boss bar's title to show, or null to hide the boss bar.
+         */
+        private String barTitle;
+        /**
+         * The boss bar's progress to show.
+         */
+        private double barProgress;
+        /**
+         * The boss bar's color to show.
+         */
+        private BarColor barColor;
+        /**
+         * The boss bar's style to show.
+         */
+        private BarStyle barStyle;
+        /**
+         * Whether the boss bar was set or hidden since the last flush.
+         */
+        private boolean barPending;
+        /**
+         * The boss bar being shown, or null if there is none.
+         */
+        private BossBar bossBar;
+
+        /**
+         * Creates the state of a player.
+         *
+         * @param player The player.
+         */
+        private PlayerDisplay(Player player) {
+            this.player = player;
+        }
+
+        /**
+         * Sends every pending value that differs from what the player is being shown.
+         *
+         * @param now The current {@link System#nanoTime()}.
+         */
+        private void flush(long now) {
+            if (this.titlePending) {
+                this.titlePending = false;
+                if (!this.title.equals(this.shownTitle) || !this.subtitle.equals(this.shownSubtitle)
+                        || now - this.titleShownUntil >= 0) {
+                    this.player.sendTitle(this.title, this.subtitle, this.fadeIn, this.stay, this.fadeOut);
+                    this.shownTitle = this.title;
+                    this.shownSubtitle = this.subtitle;
+                    this.titleShownUntil = now + (this.fadeIn + this.stay) * NANOS_PER_TICK;
+                }
+            }
+
+            if (this.actionBarPending) {
+                this.actionBarPending = false;
+                if (!this.actionBar.equals(this.shownActionBar) || now - this.actionBarShownUntil >= 0) {
+                    this.player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(this.actionBar));
+                    this.shownActionBar = this.actionBar;
+                    this.actionBarShownUntil = now + ACTION_BAR_TICKS * NANOS_PER_TICK;
+                }
+            }
+
+            if (this.barPending) {
+                this.barPending = false;
+                if (this.barTitle == null) {
+                    removeBossBar();
+                } else if (this.bossBar == null) {
+                    this.bossBar = Bukkit.createBossBar(this.barTitle, this.barColor, this.barStyle);
+                    this.bossBar.setProgress(this.barProgress);
+                    this.bossBar.addPlayer(this.player);
+                } else {
+                    // Every setter sends a packet, even when the value did not change.
+                    if (!this.barTitle.equals(this.bossBar.getTitle())) this.bossBar.setTitle(this.barTitle);
+                    if (this.barProgress != this.bossBar.getProgress()) this.bossBar.setProgress(this.barProgress);
+                    if (this.barColor != this.bossBar.getColor()) this.bossBar.setColor(this.barColor);
+                    if (this.barStyle != this.bossBar.getStyle()) this.bossBar.setStyle(this.barStyle);
+                }
+            }
+        }
+
+        /**
+         * Hides and discards the boss bar, if any.
+         */
+        private void removeBossBar() {
+            if (this.bossBar == null) return;
+            this.bossBar.removeAll();
+            this.bossBar = null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the chat lines sent to each receiver and sends them all at once, in a single
+ * {@link CommandSender#sendMessage(String...)} call per receiver. Lines are sent by a single task scheduled for
+ * the next tick, or when a {@link #batch(Runnable) batching scope} ends, whichever happens first.
+ * <p>
+ * Each receiver gets its lines in the order they were added. Every method is meant to be called from the main
+ * thread.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class MessageBatcher {
+
+    /**
+     * The plugin owning the flush task.
+     */
+    private final Plugin plugin;
+    /**
+     * The lines waiting to be sent to each receiver, receivers in the order they were first added.
+     */
+    private Map<CommandSender, List<String>> pending = new LinkedHashMap<>();
+    /**
+     * The amount of batching scopes currently running.
+     */
+    private int depth;
+    /**
+     * The task that will send every pending line, null while there is none.
+     */
+    private BukkitTask task;
+
+    /**
+     * Creates a new message batcher.
+     *
+     * @param plugin The plugin that will own the flush task.
+     */
+    public MessageBatcher(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Adds a line to send to a receiver.
+     *
+     * @param receiver The receiver of the line.
+     * @param line     The line, already formatted.
+     */
+    public void add(@NotNull CommandSender receiver, @NotNull String line) {
+        this.pending.computeIfAbsent(receiver, r -> new ArrayList<>()).add(line);
+        if (this.task == null && this.depth == 0) {
+            this.task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    MessageBatcher.this.task = null;
+                    flush();
+                }
+            }.runTask(this.plugin);
+        }
+    }
+
+    /**
+     * Runs an action collecting every line added while it runs, and sends them once it finishes. Scopes can be
+     * nested, lines are sent when the outermost one finishes.
+     *
+     * @param action The action to run.
+     */
+    public void batch(@NotNull Runnable action) {
+        this.depth++;
+        try {
+            action.run();
+        } finally {
+            if (--this.depth == 0) flush();
+        }
+    }
+
+    /**
+     * Checks if a batching scope is currently running.
+     *
+     * @return true if lines are being collected until a scope finishes.
+     */
+    public boolean isBatching() {
+        return this.depth > 0;
+    }
+
+    /**
+     * Sends the lines waiting to be sent to a receiver right away, so anything sent to it afterwards arrives
+     * after them.
+     *
+     * @param receiver The receiver.
+     */
+    public void flush(@NotNull CommandSender receiver) {
+        List<String> lines = this.pending.remove(receiver);
+        if (lines != null) send(receiver, lines);
+    }
+
+    /**
+     * Sends every pending line right away.
+     */
+    public void flush() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        if (this.pending.isEmpty()) return;
+        Map<CommandSender, List<String>> toSend = this.pending;
+        this.pending = new LinkedHashMap<>();
+        toSend.forEach(MessageBatcher::send);
+    }
+
+    /**
+     * Sends lines to a receiver in a single call, unless it is a player that is not online anymore.
+     *
+     * @param receiver The receiver.
+     * @param lines    The lines to send.
+     */
+    private static void send(CommandSender receiver, List<String> lines) {
+        if (receiver instanceof Player player && !player.isOnline()) return;
+        if (lines.size() == 1) {
+            receiver.sendMessage(lines.get(0));
+        } else {
+            receiver.sendMessage(lines.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * Gets the amount of receivers with lines waiting to be sent.
+     *
+     * @return The amount of receivers.
+     */
+    public int getPending() {
+        return this.pending.size();
+    }
+}
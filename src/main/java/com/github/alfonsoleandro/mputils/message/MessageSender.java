@@ -24,17 +24,41 @@ package com.github.alfonsoleandro.mputils.message;
 import com.github.alfonsoleandro.mputils.files.YamlFile;
 import com.github.alfonsoleandro.mputils.reloadable.Reloadable;
 import com.github.alfonsoleandro.mputils.reloadable.ReloaderPlugin;
+import com.github.alfonsoleandro.mputils.string.MessageTemplate;
+import com.github.alfonsoleandro.mputils.string.Placeholders;
 import com.github.alfonsoleandro.mputils.string.StringUtils;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Messages manager. Should manage every message a plugin can send. Includes several message sending methods.
@@ -46,9 +70,22 @@ import java.util.Map;
 public class MessageSender<E extends MessageEnum> extends Reloadable {
 
     /**
-     * A map containing every configurable message.
+     * The default maximum amount of players to deliver a broadcast to per tick.
+     *
+     * @see #getBroadcastDispatcher()
      */
-    private final Map<E, String> messages = new HashMap<>();
+    public static final int DEFAULT_RECIPIENTS_PER_TICK = 200;
+    /**
+     * The default maximum amount of milliseconds to spend delivering broadcasts per tick.
+     *
+     * @see #getBroadcastDispatcher()
+     */
+    public static final long DEFAULT_MILLIS_PER_TICK = 5;
+
+    /**
+     * Every loaded message. Replaced as a whole on every reload, so it can be read from any thread.
+     */
+    private volatile MessageTable<E> table;
     /**
      * An array containing every value inside an enum. (enum#values).
      */
@@ -64,11 +101,53 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
     /**
      * The {@link YamlFile} object that will contain every message listed in the enum.
      */
-    private YamlFile messagesYamlFile;
+    private final YamlFile messagesYamlFile;
+    /**
+     * Whether messages sent to players should be sent as cached chat components.
+     */
+    private volatile boolean useComponents;
+    /**
+     * The dispatcher used for broadcasts delivered over several ticks, created when first needed.
+     */
+    private BroadcastDispatcher broadcastDispatcher;
+    /**
+     * The channel coalescing titles, action bars and boss bars, created when first needed.
+     */
+    private DisplayChannel displayChannel;
+    /**
+     * Limits how often the same message can be sent to the same player, or null if not limited.
+     */
+    private volatile MessageThrottle throttle;
+    /**
+     * Reports the duplicates suppressed by {@link #throttle} during intervals that ended, or null if not limited.
+     */
+    private BukkitTask throttleTask;
+    /**
+     * Collects the lines sent to each player to send them at once, created when first needed.
+     */
+    private volatile MessageBatcher batcher;
+    /**
+     * Whether every line sent to a player from the main thread is batched until the next tick.
+     */
+    private volatile boolean autoBatch;
+    /**
+     * The pipeline rendering messages on worker threads, created when first needed.
+     */
+    private AsyncMessagePipeline asyncPipeline;
+    /**
+     * The name of the file containing each locale's messages, with "%locale%" in place of the locale, or null
+     * if every player receives the messages in {@link #messagesYamlFile}.
+     */
+    private volatile String localeFileName;
+    /**
+     * The locale the messages in {@link #messagesYamlFile} are written in, in lower case.
+     */
+    private volatile String defaultLocale;
     /**
-     * A string that goes before every message.
+     * The messages loaded for each locale so far, by locale. Locales without a file map to the default table.
+     * Replaced as a whole on every reload.
      */
-    private String prefix;
+    private volatile Map<String, MessageTable<E>> localeTables = new ConcurrentHashMap<>();
 
     /**
      * Creates a new instance of the message sender.
@@ -109,17 +188,96 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
 
 
     /**
-     * Loads every message and the prefix, if the prefix path has been specified.
+     * Loads every message and the prefix, if the prefix path has been specified, into a new table
+     * and then replaces the current one.
      */
     private void loadMessages() {
-        FileConfiguration messages = this.messagesYamlFile.getAccess();
-        this.prefix = this.prefixPath == null ? null : messages.getString(this.prefixPath);
-        this.messages.clear();
+        this.table = MessageTable.load(this.messagesEnumValues, this.messagesYamlFile.getAccess(),
+                this.prefixPath, this.useComponents);
+        this.localeTables = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Enables per-player translations. Each player receives the messages from the file for their
+     * {@link Player#getLocale() locale}, loaded the first time a message is sent to a player using that locale.
+     * Messages missing from a locale's file, and locales without a file, fall back to the messages in this sender's
+     * main file. The console always receives the messages in the main file.
+     *
+     * @param defaultLocale  The locale the messages in the main file are written in, for example "en_us".
+     * @param localeFileName The name of the file containing each locale's messages, with "%locale%" in place of
+     *                       the locale in lower case, for example "lang/%locale%.yml". Locale files do not need to be
+     *                       included in the plugin's jar, and the ones included are read from the jar unless the data
+     *                       folder contains a copy.
+     * @since 1.10.0
+     */
+    public void setLocaleFiles(@NotNull String defaultLocale, @NotNull String localeFileName) {
+        this.defaultLocale = defaultLocale.toLowerCase(Locale.ROOT);
+        this.localeFileName = localeFileName;
+        this.localeTables = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Disables per-player translations, every player receives the messages in this sender's main file.
+     *
+     * @see #setLocaleFiles(String, String)
+     * @since 1.10.0
+     */
+    public void disableLocaleFiles() {
+        this.localeFileName = null;
+        this.localeTables = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the messages a receiver should receive.
+     *
+     * @param receiver The receiver of the messages.
+     * @return The table for the receiver's locale, or the default one.
+     */
+    private MessageTable<E> getTable(@NotNull CommandSender receiver) {
+        MessageTable<E> table = this.table;
+        if (this.localeFileName == null || !(receiver instanceof Player player)) return table;
+        String locale = player.getLocale().toLowerCase(Locale.ROOT);
+        if (locale.equals(this.defaultLocale)) return table;
+
+        Map<String, MessageTable<E>> tables = this.localeTables;
+        MessageTable<E> localeTable = tables.get(locale);
+        if (localeTable != null) return localeTable;
+        // Loaded without holding any lock, two threads may load the same locale but only the first one is kept.
+        localeTable = loadLocale(locale, table);
+        MessageTable<E> existing = tables.putIfAbsent(locale, localeTable);
+        return existing == null ? localeTable : existing;
+    }
+
+    /**
+     * Loads the messages for a locale, taking every message missing from its file from the default table.
+     * The locale's file is read from the plugin's data folder or, if it is not there, from the plugin's jar,
+     * without being copied to the data folder, so this method can be called from any thread.
+     *
+     * @param locale The locale, in lower case.
+     * @param table  The default table.
+     * @return The locale's table, or the default table if the locale has no file.
+     */
+    private MessageTable<E> loadLocale(@NotNull String locale, @NotNull MessageTable<E> table) {
+        String localeFileName = this.localeFileName;
+        if (localeFileName == null) return table;
+        String fileName = localeFileName.replace("%locale%", locale);
 
-        for (E message : this.messagesEnumValues) {
-            this.messages.put(message,
-                    messages.getString(message.getPath()));
+        FileConfiguration config;
+        File file = new File(this.plugin.getDataFolder(), fileName);
+        if (file.exists()) {
+            config = YamlConfiguration.loadConfiguration(file);
+        } else {
+            InputStream resource = this.plugin.getResource(fileName);
+            if (resource == null) return table;
+            try (Reader reader = new InputStreamReader(resource, StandardCharsets.UTF_8)) {
+                config = YamlConfiguration.loadConfiguration(reader);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return table;
+            }
         }
+        return MessageTable.load(this.messagesEnumValues, MessageEnum::getPath, MessageEnum::getDefault,
+                config, this.prefixPath, this.useComponents, table);
     }
 
     /**
@@ -129,7 +287,49 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      * @param msg      The String to send.
      */
     public void send(@NotNull CommandSender receiver, @NotNull String msg) {
-        receiver.sendMessage(StringUtils.colorizeString((this.prefix == null ? "" : this.prefix + " ") + msg));
+        deliver(receiver, format(msg));
+    }
+
+    /**
+     * Sends a formatted line to a receiver, or adds it to the {@link #getBatcher() batcher} if it is a player and
+     * lines are being batched.
+     *
+     * @param receiver The intended receiver for the line.
+     * @param line     The prefixed and colorized line.
+     */
+    private void deliver(CommandSender receiver, String line) {
+        MessageBatcher batcher = this.batcher;
+        if (batcher != null && receiver instanceof Player && Bukkit.isPrimaryThread()
+                && (this.autoBatch || batcher.isBatching())) {
+            batcher.add(receiver, line);
+        } else {
+            receiver.sendMessage(line);
+        }
+    }
+
+    /**
+     * Sends every line batched for a receiver, so a message sent to it without being batched arrives after them.
+     *
+     * @param receiver The receiver, or null for every receiver.
+     */
+    private void flushBatched(@Nullable CommandSender receiver) {
+        MessageBatcher batcher = this.batcher;
+        if (batcher == null || !Bukkit.isPrimaryThread()) return;
+        if (receiver == null) {
+            batcher.flush();
+        } else {
+            batcher.flush(receiver);
+        }
+    }
+
+    /**
+     * Adds the prefix, if any, to a string and colorizes it.
+     *
+     * @param msg The string to format.
+     * @return The prefixed and colorized string.
+     */
+    private String format(@NotNull String msg) {
+        return this.table.format(msg);
     }
 
     /**
@@ -150,7 +350,100 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
      */
     public void send(@NotNull CommandSender receiver, @NotNull E message, String... replacements) {
-        send(receiver, getString(message, replacements));
+        int duplicates = acquire(receiver, message);
+        if (duplicates < 0) return;
+        MessageTable<E> table = getTable(receiver);
+        if (receiver instanceof Player player) {
+            ComponentTemplate components = table.getComponents(message);
+            if (components != null) {
+                flushBatched(player);
+                player.spigot().sendMessage(withSuppressed(components.render(replacements), duplicates));
+                return;
+            }
+        }
+        deliver(receiver, withSuppressed(table.format(table.getString(message, replacements)), duplicates));
+    }
+
+    /**
+     * Sends a message to the given CommandSender, replacing its placeholders with typed values.
+     * Values whose placeholder is not present in the configured message are never formatted or evaluated.
+     *
+     * @param receiver     The intended receiver for the message.
+     * @param message      The message to send.
+     * @param placeholders The placeholder values.
+     * @since 1.10.0
+     */
+    public void send(@NotNull CommandSender receiver, @NotNull E message, @NotNull Placeholders placeholders) {
+        int duplicates = acquire(receiver, message);
+        if (duplicates < 0) return;
+        MessageTable<E> table = getTable(receiver);
+        if (receiver instanceof Player player) {
+            ComponentTemplate components = table.getComponents(message);
+            if (components != null) {
+                flushBatched(player);
+                player.spigot().sendMessage(withSuppressed(components.render(placeholders), duplicates));
+                return;
+            }
+        }
+        deliver(receiver, withSuppressed(table.format(table.getString(message, placeholders)), duplicates));
+    }
+
+    /**
+     * Checks if a message can be sent to a receiver according to this sender's throttle.
+     *
+     * @param receiver The intended receiver for the message.
+     * @param message  The message to send.
+     * @return The amount of duplicates suppressed since the message was last sent to the receiver, or -1 if it was
+     * sent too recently and should be suppressed.
+     */
+    private int acquire(CommandSender receiver, E message) {
+        MessageThrottle throttle = this.throttle;
+        if (throttle == null || !(receiver instanceof Player player)) return 0;
+        return throttle.tryAcquire(player.getUniqueId(), message);
+    }
+
+    /**
+     * Appends the throttle's report of suppressed duplicates to a formatted line.
+     *
+     * @param line       The prefixed and colorized line.
+     * @param duplicates The amount of suppressed duplicates.
+     * @return The line, with the report appended if there is one.
+     */
+    private String withSuppressed(String line, int duplicates) {
+        if (duplicates <= 0) return line;
+        String suffix = this.throttle == null ? null : this.throttle.formatSuppressed(duplicates);
+        return suffix == null ? line : line + suffix;
+    }
+
+    /**
+     * Appends the throttle's report of suppressed duplicates to a message's chat components.
+     *
+     * @param components The message's chat components.
+     * @param duplicates The amount of suppressed duplicates.
+     * @return The components, with the report appended if there is one.
+     */
+    private BaseComponent[] withSuppressed(BaseComponent[] components, int duplicates) {
+        if (duplicates <= 0) return components;
+        String suffix = this.throttle == null ? null : this.throttle.formatSuppressed(duplicates);
+        if (suffix == null) return components;
+        BaseComponent[] report = TextComponent.fromLegacyText(suffix);
+        BaseComponent[] appended = Arrays.copyOf(components, components.length + report.length);
+        System.arraycopy(report, 0, appended, components.length, report.length);
+        return appended;
+    }
+
+    /**
+     * Appends the throttle's report of suppressed duplicates to a rendered message.
+     *
+     * @param rendered   The rendered message.
+     * @param duplicates The amount of suppressed duplicates.
+     * @return The message, with the report appended if there is one.
+     */
+    private RenderedMessage withSuppressed(RenderedMessage rendered, int duplicates) {
+        if (duplicates <= 0) return rendered;
+        BaseComponent[] components = rendered.getComponents();
+        return new RenderedMessage(withSuppressed(rendered.getLegacy(), duplicates),
+                components == null ? null : withSuppressed(components, duplicates));
     }
 
     /**
@@ -163,8 +456,62 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      */
     public void send(@NotNull List<CommandSender> receivers, @NotNull E message, String... replacements) {
         for (CommandSender receiver : receivers) {
-            send(receiver, getString(message, replacements));
+            send(receiver, message, replacements);
+        }
+    }
+
+    /**
+     * Renders a message on a worker thread, and sends it to the given CommandSender from the main thread, using
+     * this sender's {@link #getAsyncPipeline() pipeline}. Useful for messages whose replacements are expensive to
+     * compute. Messages sent this way to the same receiver arrive in the order they were sent.
+     * Must be called from the main thread.
+     *
+     * @param receiver     The intended receiver for the message.
+     * @param message      The message to send.
+     * @param placeholders The placeholder values, lazy ones are evaluated on the worker thread.
+     * @return A future completed once the message is sent, or right away if it was suppressed by the throttle.
+     * @since 1.10.0
+     */
+    public CompletableFuture<Void> sendAsync(@NotNull CommandSender receiver, @NotNull E message,
+                                             @NotNull Placeholders placeholders) {
+        int duplicates = acquire(receiver, message);
+        if (duplicates < 0) return CompletableFuture.completedFuture(null);
+        MessageTable<E> table = getTable(receiver);
+        return getAsyncPipeline().submit(receiver,
+                () -> withSuppressed(table.render(message, placeholders), duplicates));
+    }
+
+    /**
+     * Renders a message on a worker thread, and sends it to the given CommandSender from the main thread.
+     *
+     * @param receiver     The intended receiver for the message.
+     * @param message      The message to send.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return A future completed once the message is sent, or right away if it was suppressed by the throttle.
+     * @see #sendAsync(CommandSender, MessageEnum, Placeholders)
+     * @since 1.10.0
+     */
+    public CompletableFuture<Void> sendAsync(@NotNull CommandSender receiver, @NotNull E message, String... replacements) {
+        int duplicates = acquire(receiver, message);
+        if (duplicates < 0) return CompletableFuture.completedFuture(null);
+        MessageTable<E> table = getTable(receiver);
+        return getAsyncPipeline().submit(receiver,
+                () -> withSuppressed(table.render(message, replacements), duplicates));
+    }
+
+    /**
+     * Gets the pipeline used by {@link #sendAsync(CommandSender, MessageEnum, Placeholders)}, creating it if
+     * necessary. By default, messages are rendered on the server's asynchronous scheduler.
+     *
+     * @return The asynchronous rendering pipeline for this sender.
+     * @since 1.10.0
+     */
+    public AsyncMessagePipeline getAsyncPipeline() {
+        if (this.asyncPipeline == null) {
+            this.asyncPipeline = new AsyncMessagePipeline(this.plugin);
         }
+        return this.asyncPipeline;
     }
 
     /**
@@ -176,13 +523,16 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
      */
     public void broadcast(@Nullable Player excluded, @NotNull E message, String... replacements) {
-        String msg = getString(message, replacements);
+        flushBatched(null);
+        RenderedMessage rendered = render(message, replacements);
+        Function<CommandSender, RenderedMessage> messages =
+                localized(rendered, table -> table.render(message, replacements));
 
         for (Player toSend : Bukkit.getOnlinePlayers()) {
             if (toSend.equals(excluded)) continue;
-            send(toSend, msg);
+            messages.apply(toSend).sendTo(toSend);
         }
-        Bukkit.getConsoleSender().sendMessage(StringUtils.colorizeString((this.prefix == null ? "" : this.prefix + " ") + msg));
+        rendered.sendTo(Bukkit.getConsoleSender());
     }
 
     /**
@@ -194,13 +544,139 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
      */
     public void broadcast(@Nullable List<Player> excluded, @NotNull E message, String... replacements) {
-        String msg = getString(message, replacements);
+        if (excluded == null || excluded.isEmpty()) {
+            broadcast(Audience.everyone(), message, replacements);
+        } else {
+            Set<Player> excludedSet = new HashSet<>(excluded);
+            broadcast(Audience.everyoneExcept(excludedSet::contains), message, replacements);
+        }
+    }
 
-        for (Player toSend : Bukkit.getOnlinePlayers()) {
-            if (excluded != null && excluded.contains(toSend)) continue;
-            send(toSend, msg);
+    /**
+     * Sends a message to every player online and the console.
+     *
+     * @param excluded     The unique ids of the players to exclude from this message.
+     * @param message      The message to send.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @since 1.10.0
+     */
+    public void broadcast(@Nullable Set<UUID> excluded, @NotNull E message, String... replacements) {
+        broadcast(excluded == null ? Audience.everyone() : Audience.everyoneExcept(excluded), message, replacements);
+    }
+
+    /**
+     * Sends a message to every player online and the console.
+     *
+     * @param excluded     The predicate matching the players to exclude from this message.
+     * @param message      The message to send.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @since 1.10.0
+     */
+    public void broadcast(@NotNull Predicate<? super Player> excluded, @NotNull E message, String... replacements) {
+        broadcast(Audience.everyoneExcept(excluded), message, replacements);
+    }
+
+    /**
+     * Sends a message to every player in the given audience that is still online, and the console, replacing its
+     * placeholders with typed values.
+     *
+     * @param audience     The players to send this message to.
+     * @param message      The message to send.
+     * @param placeholders The placeholder values.
+     * @since 1.10.0
+     */
+    public void broadcast(@NotNull Audience audience, @NotNull E message, @NotNull Placeholders placeholders) {
+        flushBatched(null);
+        RenderedMessage rendered = render(message, placeholders);
+        audience.send(localized(rendered, table -> table.render(message, placeholders)));
+        rendered.sendTo(Bukkit.getConsoleSender());
+    }
+
+    /**
+     * Sends a message to every player in the given audience that is still online, and the console.
+     *
+     * @param audience     The players to send this message to.
+     * @param message      The message to send.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @since 1.10.0
+     */
+    public void broadcast(@NotNull Audience audience, @NotNull E message, String... replacements) {
+        flushBatched(null);
+        RenderedMessage rendered = render(message, replacements);
+        audience.send(localized(rendered, table -> table.render(message, replacements)));
+        rendered.sendTo(Bukkit.getConsoleSender());
+    }
+
+    /**
+     * Sends a message to every player online and the console, spreading the delivery to players over several ticks
+     * using this sender's {@link #getBroadcastDispatcher() dispatcher}. The message is rendered once, right away,
+     * and the console receives it immediately. Players that log out before their turn are skipped.
+     *
+     * @param excluded     A list of players to exclude from this message.
+     * @param message      The message to send.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The task tracking the delivery, which accepts progress and completion callbacks.
+     * @since 1.10.0
+     */
+    public BroadcastTask broadcastOverTicks(@Nullable List<Player> excluded, @NotNull E message, String... replacements) {
+        if (excluded == null || excluded.isEmpty()) return broadcastOverTicks(Audience.everyone(), message, replacements);
+        Set<Player> excludedSet = new HashSet<>(excluded);
+        return broadcastOverTicks(Audience.everyoneExcept(excludedSet::contains), message, replacements);
+    }
+
+    /**
+     * Sends a message to every player in the given audience and the console, spreading the delivery to players
+     * over several ticks.
+     *
+     * @param audience     The players to send this message to.
+     * @param message      The message to send.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The task tracking the delivery, which accepts progress and completion callbacks.
+     * @see #broadcastOverTicks(List, MessageEnum, String...)
+     * @since 1.10.0
+     */
+    public BroadcastTask broadcastOverTicks(@NotNull Audience audience, @NotNull E message, String... replacements) {
+        flushBatched(null);
+        RenderedMessage rendered = render(message, replacements);
+        rendered.sendTo(Bukkit.getConsoleSender());
+        return getBroadcastDispatcher().dispatch(localized(rendered, table -> table.render(message, replacements)),
+                audience.getPlayers());
+    }
+
+    /**
+     * Gets a function giving the message each receiver of a broadcast should receive. The message is rendered once
+     * per locale, the first time a receiver using that locale is found.
+     *
+     * @param rendered The message rendered from the default table.
+     * @param renderer Renders the message from a given table.
+     * @return The function giving the message for each receiver.
+     */
+    private Function<CommandSender, RenderedMessage> localized(@NotNull RenderedMessage rendered,
+                                                               @NotNull Function<MessageTable<E>, RenderedMessage> renderer) {
+        if (this.localeFileName == null) return receiver -> rendered;
+        Map<MessageTable<E>, RenderedMessage> byTable = new IdentityHashMap<>();
+        byTable.put(this.table, rendered);
+        return receiver -> byTable.computeIfAbsent(getTable(receiver), renderer);
+    }
+
+    /**
+     * Gets the dispatcher used by {@link #broadcastOverTicks(List, MessageEnum, String...)}, creating it if
+     * necessary. By default, it delivers messages to up to {@value #DEFAULT_RECIPIENTS_PER_TICK} recipients and spends
+     * up to {@value #DEFAULT_MILLIS_PER_TICK} milliseconds per tick, both can be changed.
+     *
+     * @return The broadcast dispatcher for this sender.
+     * @since 1.10.0
+     */
+    public BroadcastDispatcher getBroadcastDispatcher() {
+        if (this.broadcastDispatcher == null) {
+            this.broadcastDispatcher = new BroadcastDispatcher(this.plugin, DEFAULT_RECIPIENTS_PER_TICK, DEFAULT_MILLIS_PER_TICK);
         }
-        Bukkit.getConsoleSender().sendMessage(StringUtils.colorizeString((this.prefix == null ? "" : this.prefix + " ") + msg));
+        return this.broadcastDispatcher;
     }
 
     /**
@@ -214,13 +690,14 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
      */
     public void title(@NotNull Player player, @Nullable E title, @Nullable E subtitle, int stay, String... replacements) {
+        MessageTable<E> table = getTable(player);
         String ttl = null;
         if (title != null) {
-            ttl = getString(title, replacements);
+            ttl = table.getString(title, replacements);
         }
         String sub = null;
         if (subtitle != null) {
-            sub = getString(subtitle, replacements);
+            sub = table.getString(subtitle, replacements);
         }
         player.sendTitle(ttl == null ? "" : StringUtils.colorizeString(ttl),
                 sub == null ? "" : StringUtils.colorizeString(sub),
@@ -241,14 +718,10 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      */
     public void title(@NotNull Player player, @Nullable String title, @Nullable String subtitle, int stay, String... replacements) {
         if (title != null) {
-            for (int i = 0; i < replacements.length; i++) {
-                title = title.replace(replacements[i], replacements[++i]);
-            }
+            title = MessageTemplate.replace(title, replacements);
         }
         if (subtitle != null) {
-            for (int i = 0; i < replacements.length; i++) {
-                subtitle = subtitle.replace(replacements[i], replacements[++i]);
-            }
+            subtitle = MessageTemplate.replace(subtitle, replacements);
         }
         player.sendTitle(title == null ? "" : StringUtils.colorizeString(title),
                 subtitle == null ? "" : StringUtils.colorizeString(subtitle),
@@ -257,6 +730,135 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
                 4);
     }
 
+    /**
+     * Shows a title and subtitle to a player through this sender's {@link #getDisplayChannel() display channel}.
+     * Unlike {@link #title(Player, MessageEnum, MessageEnum, int, String...)}, only the last title set for the
+     * player during a tick is sent, and it is not sent if the player is already being shown the same one.
+     *
+     * @param player       The player that will be receiving this title and subtitle.
+     * @param title        The title to send (set to null to not send title).
+     * @param subtitle     The subtitle to send (set to null to not send subtitle).
+     * @param stay         The amount of ticks the title stays.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @since 1.10.0
+     */
+    public void displayTitle(@NotNull Player player, @Nullable E title, @Nullable E subtitle, int stay, String... replacements) {
+        MessageTable<E> table = getTable(player);
+        getDisplayChannel().title(player,
+                title == null ? null : StringUtils.colorizeString(table.getString(title, replacements)),
+                subtitle == null ? null : StringUtils.colorizeString(table.getString(subtitle, replacements)),
+                4,
+                stay,
+                4);
+    }
+
+    /**
+     * Shows an action bar to a player through this sender's {@link #getDisplayChannel() display channel}.
+     * Only the last action bar set for the player during a tick is sent.
+     *
+     * @param player       The player that will be receiving this action bar.
+     * @param message      The message to show, without prefix.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @since 1.10.0
+     */
+    public void displayActionBar(@NotNull Player player, @NotNull E message, String... replacements) {
+        getDisplayChannel().actionBar(player,
+                StringUtils.colorizeString(getTable(player).getString(message, replacements)));
+    }
+
+    /**
+     * Shows a boss bar to a player through this sender's {@link #getDisplayChannel() display channel}, or updates
+     * the one already shown. Only the last boss bar set for the player during a tick is sent.
+     *
+     * @param player       The player that will be receiving this boss bar.
+     * @param message      The message to use as the boss bar's title, without prefix.
+     * @param progress     The boss bar's progress, between 0 and 1.
+     * @param color        The boss bar's color.
+     * @param style        The boss bar's style.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @since 1.10.0
+     */
+    public void displayBossBar(@NotNull Player player, @NotNull E message, double progress,
+                               @NotNull BarColor color, @NotNull BarStyle style, String... replacements) {
+        getDisplayChannel().bossBar(player,
+                StringUtils.colorizeString(getTable(player).getString(message, replacements)),
+                progress, color, style);
+    }
+
+    /**
+     * Gets the channel used by {@link #displayTitle(Player, MessageEnum, MessageEnum, int, String...)},
+     * {@link #displayActionBar(Player, MessageEnum, String...)} and
+     * {@link #displayBossBar(Player, MessageEnum, double, BarColor, BarStyle, String...)}, creating it if necessary.
+     *
+     * @return The display channel for this sender.
+     * @since 1.10.0
+     */
+    public DisplayChannel getDisplayChannel() {
+        if (this.displayChannel == null) {
+            this.displayChannel = new DisplayChannel(this.plugin);
+        }
+        return this.displayChannel;
+    }
+
+    /**
+     * Renders a message once, so it can be sent to any amount of receivers without being prefixed, replaced or
+     * colorized again.
+     *
+     * @param message      The message to render.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The rendered message, including chat components if {@link #isUsingComponents()}.
+     * @since 1.10.0
+     */
+    public RenderedMessage render(@NotNull E message, String... replacements) {
+        return this.table.render(message, replacements);
+    }
+
+    /**
+     * Renders a message once for the given receiver's locale, so it can be sent to any amount of receivers using
+     * that same locale.
+     *
+     * @param receiver     The receiver whose locale to render the message in.
+     * @param message      The message to render.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The rendered message, including chat components if {@link #isUsingComponents()}.
+     * @see #setLocaleFiles(String, String)
+     * @since 1.10.0
+     */
+    public RenderedMessage render(@NotNull CommandSender receiver, @NotNull E message, String... replacements) {
+        return getTable(receiver).render(message, replacements);
+    }
+
+    /**
+     * Renders a message once, replacing its placeholders with typed values.
+     *
+     * @param message      The message to render.
+     * @param placeholders The placeholder values.
+     * @return The rendered message, including chat components if {@link #isUsingComponents()}.
+     * @see #render(MessageEnum, String...)
+     * @since 1.10.0
+     */
+    public RenderedMessage render(@NotNull E message, @NotNull Placeholders placeholders) {
+        return this.table.render(message, placeholders);
+    }
+
+    /**
+     * Gets the string that goes with the given enum value ("message"), replacing its placeholders with typed values.
+     * Values whose placeholder is not present in the configured message are never formatted or evaluated.
+     *
+     * @param message      The enum value.
+     * @param placeholders The placeholder values.
+     * @return The string that goes with the given message with its placeholders replaced.
+     * @since 1.10.0
+     */
+    public String getString(@NotNull E message, @NotNull Placeholders placeholders) {
+        return this.table.getString(message, placeholders);
+    }
+
     /**
      * Gets the string that goes with the given enum value ("message").
      *
@@ -266,24 +868,154 @@ public class MessageSender<E extends MessageEnum> extends Reloadable {
      * @return The string that goes with the given message with the given strings replaced.
      */
     public String getString(E message, String... replacements) {
-        String msg = this.messages.get(message);
-        if (msg == null) msg = message.getDefault();
-        for (int i = 0; i < replacements.length; i++) {
-            msg = msg.replace(replacements[i], replacements[++i]);
+        return this.table.getString(message, replacements);
+    }
+
+    /**
+     * Runs an action batching every line it sends to each player, which are sent together, in a single call per
+     * player, once the action finishes. Must be called from the main thread.
+     *
+     * @param action The action sending the messages.
+     * @since 1.10.0
+     */
+    public void batch(@NotNull Runnable action) {
+        getBatcher().batch(action);
+    }
+
+    /**
+     * Sets whether every line sent to a player from the main thread should be batched until the next tick, and
+     * then sent together with the rest of lines sent to that player in a single call. Messages sent as chat
+     * components and broadcasts first send every batched line, so every player receives messages in the order
+     * they were sent. The console always receives messages right away. Disabled by default.
+     *
+     * @param autoBatch true to batch every line sent to a player.
+     * @since 1.10.0
+     */
+    public void setAutoBatch(boolean autoBatch) {
+        if (autoBatch) getBatcher();
+        this.autoBatch = autoBatch;
+    }
+
+    /**
+     * Checks whether every line sent to a player from the main thread is batched until the next tick.
+     *
+     * @return true if lines are batched.
+     * @see #setAutoBatch(boolean)
+     * @since 1.10.0
+     */
+    public boolean isAutoBatching() {
+        return this.autoBatch;
+    }
+
+    /**
+     * Gets the batcher used by {@link #batch(Runnable)} and {@link #setAutoBatch(boolean)}, creating it if
+     * necessary.
+     *
+     * @return The message batcher for this sender.
+     * @since 1.10.0
+     */
+    public MessageBatcher getBatcher() {
+        if (this.batcher == null) {
+            this.batcher = new MessageBatcher(this.plugin);
+        }
+        return this.batcher;
+    }
+
+    /**
+     * Sets the throttle limiting how often {@link #send(CommandSender, MessageEnum, String...)} can send the same
+     * message to the same player. Messages sent too soon after the previous one are dropped, and the amount dropped
+     * is appended to the next one let through, or reported on its own once per second if the message is not sent
+     * again. Broadcasts and the console are never limited. Not limited by default. Must be called from the main
+     * thread.
+     *
+     * @param throttle The throttle to use, or null to not limit messages.
+     * @since 1.10.0
+     */
+    public void setThrottle(@Nullable MessageThrottle throttle) {
+        MessageThrottle previous = this.throttle;
+        if (previous != null) previous.setExpiryListener(null);
+        if (this.throttleTask != null) {
+            this.throttleTask.cancel();
+            this.throttleTask = null;
         }
-        return msg;
+        this.throttle = throttle;
+        if (throttle == null) return;
+
+        throttle.setExpiryListener((receiver, message, duplicates) -> reportExpired(throttle, receiver, duplicates));
+        this.throttleTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                throttle.expire();
+            }
+        }.runTaskTimer(this.plugin, 20, 20);
+    }
+
+    /**
+     * Sends a player the throttle's report of the duplicates suppressed during an interval after which the message
+     * was not sent again.
+     *
+     * @param throttle   The throttle that suppressed the duplicates.
+     * @param receiver   The unique id of the player.
+     * @param duplicates The amount of suppressed duplicates.
+     */
+    private void reportExpired(MessageThrottle throttle, UUID receiver, int duplicates) {
+        Player player = Bukkit.getPlayer(receiver);
+        String report = throttle.formatExpired(duplicates);
+        if (player == null || !player.isOnline() || report == null) return;
+        deliver(player, getTable(player).format(report));
+    }
+
+    /**
+     * Gets the throttle limiting how often the same message can be sent to the same player.
+     *
+     * @return The throttle in use, or null if messages are not limited.
+     * @see #setThrottle(MessageThrottle)
+     * @since 1.10.0
+     */
+    @Nullable
+    public MessageThrottle getThrottle() {
+        return this.throttle;
+    }
+
+    /**
+     * Sets whether messages sent to players should be sent as chat components. When enabled, every message,
+     * prefix included, is converted into components once (and again on every reload), and only the placeholders'
+     * values are converted when sending. Disabled by default.
+     *
+     * @param useComponents true to send messages to players as cached chat components.
+     * @since 1.10.0
+     */
+    public void setUseComponents(boolean useComponents) {
+        this.useComponents = useComponents;
+        this.table = this.table.withComponents(useComponents);
+        this.localeTables = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Checks whether messages sent to players are sent as cached chat components.
+     *
+     * @return true if messages are sent as cached chat components.
+     * @see #setUseComponents(boolean)
+     * @since 1.10.0
+     */
+    public boolean isUsingComponents() {
+        return this.useComponents;
+    }
 
     /**
      * Reloads every reloadable class, reloading the plugin.
      *
-     * @param deep True to re define the value of {@link #messagesYamlFile}. Usually not necessary.
+     * @param deep True to read {@link #messagesYamlFile} from the disk again, restoring it first if it was deleted.
+     *             The same object is reloaded, so anything holding it, such as a file watcher, keeps working.
+     *             Usually not necessary.
      * @see Reloadable
      */
     @Override
     public void reload(boolean deep) {
-        if (deep) this.messagesYamlFile = new YamlFile(this.plugin, this.messagesYamlFile.getFileName());
+        if (deep) {
+            this.messagesYamlFile.saveDefault();
+            this.messagesYamlFile.loadFileConfiguration();
+        }
         loadMessages();
     }
 
@@ -0,0 +1,314 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import com.github.alfonsoleandro.mputils.string.MessageTemplate;
+import com.github.alfonsoleandro.mputils.string.Placeholders;
+import com.github.alfonsoleandro.mputils.string.StringUtils;
+import com.github.alfonsoleandro.mputils.string.TemplateStore;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An immutable snapshot of every loaded message, indexed by the message's ordinal, and the pipeline rendering them
+ * (replacing, prefixing and colorizing). Built off to the side and published all at once, so readers on any
+ * thread either see the previous table or the new one, never a partially loaded one.
+ * <p>
+ * Messages are compiled through the {@link TemplateStore#shared() shared template store}, so every table, of any
+ * message sender, containing the same message uses the same compiled template.
+ *
+ * @param <K> The type of the keys identifying each message, usually an Enum.
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class MessageTable<K> {
+
+    /**
+     * Every message this table was loaded for.
+     */
+    private final K[] keys;
+    /**
+     * Gives the default value of each message.
+     */
+    private final Function<? super K, String> defaults;
+    /**
+     * Whether messages are enum constants, and can be looked up by their ordinal.
+     */
+    private final boolean byOrdinal;
+    /**
+     * The string that goes before every message, or null if there is none.
+     */
+    private final String prefix;
+    /**
+     * Every compiled message, indexed by {@link #indexOf(Object)}.
+     */
+    private final MessageTemplate[] templates;
+    /**
+     * Every message converted into chat components, indexed like {@link #templates}, or null if not enabled.
+     */
+    private final ComponentTemplate[] components;
+
+    /**
+     * Creates a new table.
+     *
+     * @param keys       Every message this table was loaded for.
+     * @param defaults   Gives the default value of each message.
+     * @param byOrdinal  Whether messages can be looked up by their ordinal.
+     * @param prefix     The string that goes before every message, or null if there is none.
+     * @param templates  Every compiled message.
+     * @param components Every message converted into chat components, or null.
+     */
+    private MessageTable(K[] keys, Function<? super K, String> defaults, boolean byOrdinal, String prefix,
+                         MessageTemplate[] templates, ComponentTemplate[] components) {
+        this.keys = keys;
+        this.defaults = defaults;
+        this.byOrdinal = byOrdinal;
+        this.prefix = prefix;
+        this.templates = templates;
+        this.components = components;
+    }
+
+    /**
+     * Loads every message from a configuration file into a new table.
+     *
+     * @param keys          Every message to load.
+     * @param config        The configuration containing the messages.
+     * @param prefixPath    The path where the prefix is located, or null if there is no prefix.
+     * @param useComponents Whether to also convert every message into chat components.
+     * @param <E>           The Enum containing every configurable message.
+     * @return The new table.
+     */
+    public static <E extends MessageEnum> MessageTable<E> load(@NotNull E[] keys, @NotNull FileConfiguration config,
+                                                               @Nullable String prefixPath, boolean useComponents) {
+        return load(keys, MessageEnum::getPath, MessageEnum::getDefault, config, prefixPath, useComponents, null);
+    }
+
+    /**
+     * Loads every message from a configuration file into a new table, taking the messages missing from the file
+     * from a fallback table. Messages taken from the fallback table, and their chat components if the prefix did
+     * not change, are the same objects the fallback table holds.
+     *
+     * @param keys          Every message to load.
+     * @param paths         Gives the path where each message is located.
+     * @param defaults      Gives the value of each message missing from the file.
+     * @param config        The configuration containing the messages.
+     * @param prefixPath    The path where the prefix is located, or null if there is no prefix.
+     * @param useComponents Whether to also convert every message into chat components.
+     * @param fallback      The table to take missing messages and the prefix from, or null to use their defaults.
+     * @param <K>           The type of the keys identifying each message.
+     * @return The new table.
+     */
+    public static <K> MessageTable<K> load(@NotNull K[] keys, @NotNull Function<? super K, String> paths,
+                                           @NotNull Function<? super K, String> defaults,
+                                           @NotNull FileConfiguration config, @Nullable String prefixPath,
+                                           boolean useComponents, @Nullable MessageTable<K> fallback) {
+        boolean byOrdinal = true;
+        int size = 0;
+        for (K key : keys) {
+            if (!(key instanceof Enum<?> constant)) {
+                byOrdinal = false;
+                size = keys.length;
+                break;
+            }
+            size = Math.max(size, constant.ordinal() + 1);
+        }
+
+        TemplateStore store = TemplateStore.shared();
+        MessageTemplate[] loaded = new MessageTemplate[size];
+        for (int i = 0; i < keys.length; i++) {
+            K key = keys[i];
+            int index = byOrdinal ? ((Enum<?>) key).ordinal() : i;
+            String configured = config.getString(paths.apply(key));
+            if (configured == null && fallback != null) {
+                loaded[index] = fallback.templates[index];
+            } else {
+                loaded[index] = store.get(configured == null ? defaults.apply(key) : configured);
+            }
+        }
+
+        String prefix = prefixPath == null ? null : config.getString(prefixPath);
+        if (prefix == null && fallback != null) prefix = fallback.prefix;
+        return new MessageTable<>(keys, defaults, byOrdinal, prefix, loaded,
+                useComponents ? loadComponents(prefix, loaded, fallback) : null);
+    }
+
+    /**
+     * Converts every compiled message into chat components.
+     *
+     * @param prefix    The string that goes before every message, or null.
+     * @param templates Every compiled message.
+     * @param fallback  A table whose chat components can be reused for the messages it shares, or null.
+     * @return The chat components, indexed like the given templates.
+     */
+    private static ComponentTemplate[] loadComponents(String prefix, MessageTemplate[] templates,
+                                                      @Nullable MessageTable<?> fallback) {
+        boolean samePrefix = fallback != null && fallback.components != null && Objects.equals(prefix, fallback.prefix);
+        String componentsPrefix = prefix == null ? "" : prefix + " ";
+        ComponentTemplate[] components = new ComponentTemplate[templates.length];
+        for (int i = 0; i < templates.length; i++) {
+            if (templates[i] == null) continue;
+            components[i] = samePrefix && fallback.templates[i] == templates[i]
+                    ? fallback.components[i]
+                    : new ComponentTemplate(componentsPrefix, templates[i]);
+        }
+        return components;
+    }
+
+    /**
+     * Creates a copy of this table with or without chat components.
+     *
+     * @param useComponents Whether the copy should contain chat components.
+     * @return This same table if it already matches, or a new one.
+     */
+    public MessageTable<K> withComponents(boolean useComponents) {
+        if (useComponents == (this.components != null)) return this;
+        return new MessageTable<>(this.keys, this.defaults, this.byOrdinal, this.prefix, this.templates,
+                useComponents ? loadComponents(this.prefix, this.templates, null) : null);
+    }
+
+    /**
+     * Gets the index of a message in this table's arrays.
+     *
+     * @param message The message to look for.
+     * @return The index of the message or -1 if it is not part of this table.
+     */
+    private int indexOf(Object message) {
+        if (this.byOrdinal) {
+            int ordinal = ((Enum<?>) message).ordinal();
+            return ordinal < this.templates.length ? ordinal : -1;
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] == message) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a compiled message.
+     *
+     * @param message The message to look for.
+     * @return The compiled message, or its compiled default value if it was not loaded.
+     */
+    @NotNull
+    public MessageTemplate getTemplate(@NotNull K message) {
+        int index = indexOf(message);
+        MessageTemplate template = index == -1 ? null : this.templates[index];
+        return template == null ? TemplateStore.shared().get(this.defaults.apply(message)) : template;
+    }
+
+    /**
+     * Gets a message converted into chat components.
+     *
+     * @param message The message to look for.
+     * @return The chat components, or null if they are not enabled or the message was not loaded.
+     */
+    @Nullable
+    public ComponentTemplate getComponents(@NotNull K message) {
+        if (this.components == null) return null;
+        int index = indexOf(message);
+        return index == -1 ? null : this.components[index];
+    }
+
+    /**
+     * Checks if this table contains chat components.
+     *
+     * @return true if messages were converted into chat components.
+     */
+    public boolean hasComponents() {
+        return this.components != null;
+    }
+
+    /**
+     * Gets the string that goes before every message.
+     *
+     * @return The prefix or null if there is none.
+     */
+    @Nullable
+    public String getPrefix() {
+        return this.prefix;
+    }
+
+    /**
+     * Adds the prefix, if any, to a string and colorizes it.
+     *
+     * @param msg The string to format.
+     * @return The prefixed and colorized string.
+     */
+    public String format(@NotNull String msg) {
+        return StringUtils.colorizeString((this.prefix == null ? "" : this.prefix + " ") + msg);
+    }
+
+    /**
+     * Gets a message with its placeholders replaced, without prefix nor colors.
+     *
+     * @param message      The message.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The message with the given strings replaced.
+     */
+    public String getString(@NotNull K message, String... replacements) {
+        return getTemplate(message).render(replacements);
+    }
+
+    /**
+     * Gets a message with its placeholders replaced with typed values, without prefix nor colors.
+     *
+     * @param message      The message.
+     * @param placeholders The placeholder values.
+     * @return The message with its placeholders replaced.
+     */
+    public String getString(@NotNull K message, @NotNull Placeholders placeholders) {
+        return getTemplate(message).render(placeholders);
+    }
+
+    /**
+     * Renders a message once, so it can be sent to any amount of receivers without being prefixed, replaced or
+     * colorized again.
+     *
+     * @param message      The message to render.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The rendered message, including chat components if this table has them.
+     */
+    public RenderedMessage render(@NotNull K message, String... replacements) {
+        ComponentTemplate components = getComponents(message);
+        return new RenderedMessage(format(getString(message, replacements)),
+                components == null ? null : components.render(replacements));
+    }
+
+    /**
+     * Renders a message once, replacing its placeholders with typed values.
+     *
+     * @param message      The message to render.
+     * @param placeholders The placeholder values.
+     * @return The rendered message, including chat components if this table has them.
+     */
+    public RenderedMessage render(@NotNull K message, @NotNull Placeholders placeholders) {
+        ComponentTemplate components = getComponents(message);
+        return new RenderedMessage(format(getString(message, placeholders)),
+                components == null ? null : components.render(placeholders));
+    }
+}
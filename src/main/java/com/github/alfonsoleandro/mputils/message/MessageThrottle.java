@@ -0,0 +1,468 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import com.github.alfonsoleandro.mputils.string.MessageTemplate;
+import com.github.alfonsoleandro.mputils.string.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how often the same message can be sent to the same receiver. A message sent to a receiver again before
+ * its minimum interval has passed is suppressed, and the amount of suppressed duplicates is reported the next time
+ * that message is let through, see {@link #setSuppressedSuffix(String)}, or once its interval ends if it is not sent
+ * again, see {@link #expire()}.
+ * <p>
+ * The time each message was last sent to each receiver is kept in flat primitive arrays, no object is created per
+ * receiver or per message sent. Entries older than every interval are discarded when the arrays fill up.
+ * Every method is thread safe.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class MessageThrottle {
+
+    /**
+     * The initial amount of slots, must be a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The id given to each message, starting from 1, by message.
+     */
+    private final Map<MessageEnum, Integer> ids = new IdentityHashMap<>();
+    /**
+     * The minimum interval of each message, in nanoseconds, by id. Negative values mean the default interval.
+     */
+    private long[] intervals = new long[8];
+    /**
+     * Each message, by id.
+     */
+    private MessageEnum[] idMessages = new MessageEnum[8];
+    /**
+     * The minimum interval of messages without their own, in nanoseconds.
+     */
+    private long defaultInterval;
+    /**
+     * The most significant bits of each slot's receiver.
+     */
+    private long[] mostBits;
+    /**
+     * The least significant bits of each slot's receiver.
+     */
+    private long[] leastBits;
+    /**
+     * The id of each slot's message, 0 for empty slots.
+     */
+    private int[] messages;
+    /**
+     * The {@link System#nanoTime()} each slot's message was last sent to its receiver.
+     */
+    private long[] sentAt;
+    /**
+     * The amount of times each slot's message was suppressed since it was last sent to its receiver.
+     */
+    private int[] suppressed;
+    /**
+     * The amount of used slots.
+     */
+    private int size;
+    /**
+     * The amount of messages suppressed since this throttle was created or cleared.
+     */
+    private long suppressedTotal;
+    /**
+     * The suffix appended to a message let through after duplicates of it were suppressed, or null to not report
+     * them.
+     */
+    private volatile String suppressedSuffix = " &7(x%suppressed%)";
+    /**
+     * The line reporting duplicates suppressed during an interval after which the message was not sent again, or
+     * null to not report them.
+     */
+    private volatile String expiredReport = "&7%suppressed% similar messages were suppressed.";
+    /**
+     * Notified of the duplicates suppressed during an interval after which the message was not sent again.
+     */
+    private volatile ExpiryListener expiryListener;
+    /**
+     * The amount of slots with suppressed duplicates not reported yet.
+     */
+    private int unreported;
+
+    /**
+     * Creates a new message throttle.
+     *
+     * @param defaultIntervalMillis The minimum amount of milliseconds between two sends of the same message to the
+     *                              same receiver, for messages without their own interval. 0 to not limit them.
+     */
+    public MessageThrottle(long defaultIntervalMillis) {
+        setDefaultInterval(defaultIntervalMillis);
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Replaces every slot with empty ones.
+     *
+     * @param capacity The new amount of slots, a power of two.
+     */
+    private void allocate(int capacity) {
+        this.mostBits = new long[capacity];
+        this.leastBits = new long[capacity];
+        this.messages = new int[capacity];
+        this.sentAt = new long[capacity];
+        this.suppressed = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Checks if a message can be sent to a receiver, and records it as sent if it can. If it cannot, it is counted
+     * as a suppressed duplicate.
+     *
+     * @param receiver The unique id of the receiver.
+     * @param message  The message to send.
+     * @return The amount of duplicates suppressed since the message was last sent to the receiver, or -1 if the
+     * message should not be sent.
+     */
+    public synchronized int tryAcquire(@NotNull UUID receiver, @NotNull MessageEnum message) {
+        int id = getId(message);
+        long interval = intervalOf(id);
+        if (interval == 0) return 0;
+
+        long now = System.nanoTime();
+        long most = receiver.getMostSignificantBits();
+        long least = receiver.getLeastSignificantBits();
+        int slot = find(most, least, id);
+        if (this.messages[slot] == 0) {
+            if (this.size + 1 > this.messages.length >> 1) {
+                shrinkOrGrow(now);
+                slot = find(most, least, id);
+            }
+            this.mostBits[slot] = most;
+            this.leastBits[slot] = least;
+            this.messages[slot] = id;
+            this.sentAt[slot] = now;
+            this.size++;
+            return 0;
+        }
+
+        if (now - this.sentAt[slot] < interval) {
+            if (this.suppressed[slot]++ == 0) this.unreported++;
+            this.suppressedTotal++;
+            return -1;
+        }
+        int duplicates = this.suppressed[slot];
+        if (duplicates > 0) this.unreported--;
+        this.sentAt[slot] = now;
+        this.suppressed[slot] = 0;
+        return duplicates;
+    }
+
+    /**
+     * Reports to the {@link #setExpiryListener(ExpiryListener) expiry listener} the duplicates suppressed during
+     * every interval that ended without its message being sent again, which would otherwise only be reported the
+     * next time that message is sent. Should be called periodically, {@link MessageSender} does it every second
+     * while using this throttle.
+     */
+    public synchronized void expire() {
+        ExpiryListener listener = this.expiryListener;
+        if (listener == null || this.unreported == 0) return;
+        long now = System.nanoTime();
+        for (int i = 0; i < this.messages.length && this.unreported > 0; i++) {
+            if (this.suppressed[i] > 0 && now - this.sentAt[i] >= intervalOf(this.messages[i])) {
+                report(listener, i);
+            }
+        }
+    }
+
+    /**
+     * Reports the duplicates suppressed in a slot, and resets its count.
+     *
+     * @param listener The listener to report to.
+     * @param slot     The slot, with at least one suppressed duplicate.
+     */
+    private void report(ExpiryListener listener, int slot) {
+        int duplicates = this.suppressed[slot];
+        this.suppressed[slot] = 0;
+        this.unreported--;
+        listener.expired(new UUID(this.mostBits[slot], this.leastBits[slot]), this.idMessages[this.messages[slot]],
+                duplicates);
+    }
+
+    /**
+     * Gets the minimum interval of a message.
+     *
+     * @param id The id of the message.
+     * @return The message's own interval, or the default one, in nanoseconds.
+     */
+    private long intervalOf(int id) {
+        return this.intervals[id] < 0 ? this.defaultInterval : this.intervals[id];
+    }
+
+    /**
+     * Gets the id of a message, giving it one if it has none.
+     *
+     * @param message The message.
+     * @return The message's id.
+     */
+    private int getId(MessageEnum message) {
+        Integer id = this.ids.get(message);
+        if (id != null) return id;
+        int newId = this.ids.size() + 1;
+        this.ids.put(message, newId);
+        if (newId >= this.intervals.length) {
+            int oldLength = this.intervals.length;
+            this.intervals = Arrays.copyOf(this.intervals, oldLength * 2);
+            this.idMessages = Arrays.copyOf(this.idMessages, oldLength * 2);
+            Arrays.fill(this.intervals, oldLength, this.intervals.length, -1);
+        }
+        this.intervals[newId] = -1;
+        this.idMessages[newId] = message;
+        return newId;
+    }
+
+    /**
+     * Finds the slot of a receiver and message.
+     *
+     * @param most  The most significant bits of the receiver.
+     * @param least The least significant bits of the receiver.
+     * @param id    The id of the message.
+     * @return The slot containing them, or the empty slot where they should be put.
+     */
+    private int find(long most, long least, int id) {
+        int mask = this.messages.length - 1;
+        long hash = (most ^ least ^ id * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        int slot = (int) (hash ^ hash >>> 32) & mask;
+        while (this.messages[slot] != 0
+                && (this.messages[slot] != id || this.mostBits[slot] != most || this.leastBits[slot] != least)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Discards every slot older than every interval, reporting their suppressed duplicates first, and doubles the
+     * amount of slots if they are still too full.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     */
+    private void shrinkOrGrow(long now) {
+        long maxInterval = this.defaultInterval;
+        for (long interval : this.intervals) maxInterval = Math.max(maxInterval, interval);
+
+        ExpiryListener listener = this.expiryListener;
+        int live = 0;
+        for (int i = 0; i < this.messages.length; i++) {
+            if (this.messages[i] == 0) continue;
+            if (now - this.sentAt[i] < maxInterval) {
+                live++;
+            } else if (this.suppressed[i] > 0 && listener != null) {
+                report(listener, i);
+            }
+        }
+        int capacity = this.messages.length;
+        while (live + 1 > capacity >> 2) capacity <<= 1;
+
+        long[] oldMost = this.mostBits;
+        long[] oldLeast = this.leastBits;
+        int[] oldMessages = this.messages;
+        long[] oldSentAt = this.sentAt;
+        int[] oldSuppressed = this.suppressed;
+        allocate(capacity);
+        this.unreported = 0;
+        for (int i = 0; i < oldMessages.length; i++) {
+            if (oldMessages[i] == 0 || now - oldSentAt[i] >= maxInterval) continue;
+            int slot = find(oldMost[i], oldLeast[i], oldMessages[i]);
+            this.mostBits[slot] = oldMost[i];
+            this.leastBits[slot] = oldLeast[i];
+            this.messages[slot] = oldMessages[i];
+            this.sentAt[slot] = oldSentAt[i];
+            this.suppressed[slot] = oldSuppressed[i];
+            if (oldSuppressed[i] > 0) this.unreported++;
+            this.size++;
+        }
+    }
+
+    /**
+     * Sets the minimum interval for a message, overriding the default one.
+     *
+     * @param message        The message.
+     * @param intervalMillis The minimum amount of milliseconds between two sends of the message to the same
+     *                       receiver. 0 to not limit it.
+     */
+    public synchronized void setInterval(@NotNull MessageEnum message, long intervalMillis) {
+        if (intervalMillis < 0) throw new IllegalArgumentException("Interval cannot be negative");
+        this.intervals[getId(message)] = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    /**
+     * Makes a message use the default interval again.
+     *
+     * @param message The message.
+     */
+    public synchronized void resetInterval(@NotNull MessageEnum message) {
+        this.intervals[getId(message)] = -1;
+    }
+
+    /**
+     * Sets the minimum interval for messages without their own.
+     *
+     * @param intervalMillis The minimum amount of milliseconds between two sends of the same message to the same
+     *                       receiver. 0 to not limit them.
+     */
+    public synchronized void setDefaultInterval(long intervalMillis) {
+        if (intervalMillis < 0) throw new IllegalArgumentException("Interval cannot be negative");
+        this.defaultInterval = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    /**
+     * Sets the suffix appended to a message let through after duplicates of it were suppressed. The placeholder
+     * "%suppressed%" is replaced with the amount of suppressed duplicates. Defaults to " &7(x%suppressed%)".
+     *
+     * @param suppressedSuffix The suffix, colorized when appended, or null to not report suppressed duplicates.
+     */
+    public void setSuppressedSuffix(@Nullable String suppressedSuffix) {
+        this.suppressedSuffix = suppressedSuffix;
+    }
+
+    /**
+     * Gets the suffix appended to a message let through after duplicates of it were suppressed.
+     *
+     * @return The suffix, or null if suppressed duplicates are not reported.
+     * @see #setSuppressedSuffix(String)
+     */
+    @Nullable
+    public String getSuppressedSuffix() {
+        return this.suppressedSuffix;
+    }
+
+    /**
+     * Formats the suffix reporting an amount of suppressed duplicates.
+     *
+     * @param duplicates The amount returned by {@link #tryAcquire(UUID, MessageEnum)}.
+     * @return The colorized suffix, or null if there is nothing to report.
+     */
+    @Nullable
+    public String formatSuppressed(int duplicates) {
+        String suffix = this.suppressedSuffix;
+        if (duplicates <= 0 || suffix == null) return null;
+        return StringUtils.colorizeString(MessageTemplate.replace(suffix, "%suppressed%", String.valueOf(duplicates)));
+    }
+
+    /**
+     * Sets the line reporting the duplicates suppressed during an interval after which the message was not sent
+     * again, sent by {@link MessageSender} with its prefix. The placeholder "%suppressed%" is replaced with the
+     * amount of suppressed duplicates. Defaults to "&7%suppressed% similar messages were suppressed.".
+     *
+     * @param expiredReport The line, colorized when sent, or null to not report those duplicates.
+     */
+    public void setExpiredReport(@Nullable String expiredReport) {
+        this.expiredReport = expiredReport;
+    }
+
+    /**
+     * Gets the line reporting the duplicates suppressed during an interval after which the message was not sent
+     * again.
+     *
+     * @return The line, or null if those duplicates are not reported.
+     * @see #setExpiredReport(String)
+     */
+    @Nullable
+    public String getExpiredReport() {
+        return this.expiredReport;
+    }
+
+    /**
+     * Formats the line reporting an amount of duplicates suppressed during an interval after which the message was
+     * not sent again.
+     *
+     * @param duplicates The amount given to the {@link ExpiryListener}.
+     * @return The colorized line, or null if there is nothing to report.
+     */
+    @Nullable
+    public String formatExpired(int duplicates) {
+        String report = this.expiredReport;
+        if (duplicates <= 0 || report == null) return null;
+        return StringUtils.colorizeString(MessageTemplate.replace(report, "%suppressed%", String.valueOf(duplicates)));
+    }
+
+    /**
+     * Sets the listener notified of the duplicates suppressed during an interval after which the message was not
+     * sent again, when {@link #expire()} finds them or their slot is discarded. The listener is called while this
+     * throttle is locked, and must not use it other than to format its report. {@link MessageSender} sets its own
+     * listener when given this throttle.
+     *
+     * @param expiryListener The listener, or null to not report those duplicates.
+     */
+    public void setExpiryListener(@Nullable ExpiryListener expiryListener) {
+        this.expiryListener = expiryListener;
+    }
+
+    /**
+     * Gets the amount of messages suppressed since this throttle was created or cleared.
+     *
+     * @return The amount of suppressed messages.
+     */
+    public synchronized long getSuppressedTotal() {
+        return this.suppressedTotal;
+    }
+
+    /**
+     * Gets the amount of receiver and message pairs currently tracked.
+     *
+     * @return The amount of tracked pairs, expired ones included until they are discarded.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Forgets when every message was sent, and resets the suppressed messages count. Intervals are kept.
+     */
+    public synchronized void clear() {
+        allocate(INITIAL_CAPACITY);
+        this.unreported = 0;
+        this.suppressedTotal = 0;
+    }
+
+    /**
+     * Notified of the duplicates suppressed during an interval after which the message was not sent again.
+     */
+    @FunctionalInterface
+    public interface ExpiryListener {
+
+        /**
+         * Called once per interval that ended with suppressed duplicates that were not reported yet.
+         *
+         * @param receiver   The unique id of the receiver.
+         * @param message    The suppressed message.
+         * @param duplicates The amount of suppressed duplicates.
+         */
+        void expired(@NotNull UUID receiver, @NotNull MessageEnum message, int duplicates);
+    }
+}
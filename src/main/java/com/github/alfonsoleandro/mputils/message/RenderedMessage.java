@@ -0,0 +1,91 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.message;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A message already prefixed, with its placeholders replaced and colorized, ready to be sent to any amount
+ * of receivers without rendering it again.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class RenderedMessage {
+
+    /**
+     * The colorized message, prefix included.
+     */
+    private final String legacy;
+    /**
+     * The message as chat components, or null if players should receive the legacy string.
+     */
+    private final BaseComponent[] components;
+
+    /**
+     * Creates a new rendered message.
+     *
+     * @param legacy     The colorized message, prefix included.
+     * @param components The message as chat components, or null if players should receive the legacy string.
+     */
+    public RenderedMessage(@NotNull String legacy, @Nullable BaseComponent[] components) {
+        this.legacy = legacy;
+        this.components = components;
+    }
+
+    /**
+     * Sends this message to the given receiver. Players receive the chat components, if any.
+     *
+     * @param receiver The intended receiver for the message.
+     */
+    public void sendTo(@NotNull CommandSender receiver) {
+        if (this.components != null && receiver instanceof Player player) {
+            player.spigot().sendMessage(this.components);
+        } else {
+            receiver.sendMessage(this.legacy);
+        }
+    }
+
+    /**
+     * Gets the colorized message, prefix included.
+     *
+     * @return The legacy string.
+     */
+    @NotNull
+    public String getLegacy() {
+        return this.legacy;
+    }
+
+    /**
+     * Gets the message as chat components. The returned array is shared and must not be modified.
+     *
+     * @return The chat components or null if players receive the legacy string.
+     */
+    @Nullable
+    public BaseComponent[] getComponents() {
+        return this.components;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.reloadable;
+
+import com.github.alfonsoleandro.mputils.files.YamlFile;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Watches the files of a {@link ReloaderPlugin} and reloads them when they are edited, without the need of a
+ * reload command. Only the {@link Reloadable}s bound to the edited files are reloaded.
+ * <p>
+ * Bursts of edits are debounced, files are only read once no more edits happened for the debounce delay.
+ * Edited files are read and parsed on the watcher's own thread, and only the ones whose content actually changed
+ * are applied, and their reloadables {@link Reloadable#reload(boolean) reloaded}, on the main thread.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class FileWatcher {
+
+    /**
+     * The plugin owning the watched files.
+     */
+    private final ReloaderPlugin plugin;
+    /**
+     * The amount of milliseconds without edits to wait for before reading the edited files.
+     */
+    private final long debounceMillis;
+    /**
+     * The service notifying edits in the watched directories.
+     */
+    private final WatchService watchService;
+    /**
+     * Every watched file, by its absolute path.
+     */
+    private final Map<Path, YamlFile> files = new ConcurrentHashMap<>();
+    /**
+     * The reloadables bound to each watched file.
+     */
+    private final Map<YamlFile, Set<Reloadable>> bindings = new ConcurrentHashMap<>();
+    /**
+     * Every directory already registered in the watch service.
+     */
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+    /**
+     * Runs tasks on the main thread, right away if already on it.
+     */
+    private final Executor mainThread;
+    /**
+     * The thread waiting for edits.
+     */
+    private final Thread thread;
+    /**
+     * Whether this watcher was closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates and starts a new file watcher.
+     *
+     * @param plugin         The plugin owning the watched files.
+     * @param debounceMillis The amount of milliseconds without edits to wait for before reading the edited files.
+     * @throws IOException If the watch service could not be created.
+     */
+    FileWatcher(@NotNull ReloaderPlugin plugin, long debounceMillis) throws IOException {
+        if (debounceMillis < 0) throw new IllegalArgumentException("Debounce delay cannot be negative");
+        this.plugin = plugin;
+        this.debounceMillis = debounceMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.mainThread = task -> {
+            if (Bukkit.isPrimaryThread()) {
+                task.run();
+            } else {
+                Bukkit.getScheduler().runTask(plugin, task);
+            }
+        };
+        this.thread = new Thread(this::watch, plugin.getName() + " file watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Starts watching a file, reloading the given reloadables whenever its content changes.
+     * Can be called more than once for the same file to bind more reloadables.
+     *
+     * @param file        The file to watch.
+     * @param reloadables The reloadables to reload when the file changes.
+     * @throws IOException If the file's directory could not be watched.
+     */
+    public void watch(@NotNull YamlFile file, @NotNull Reloadable... reloadables) throws IOException {
+        Path path = file.getFile().toPath().toAbsolutePath().normalize();
+        Path directory = path.getParent();
+        if (this.directories.add(directory)) {
+            try {
+                directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException e) {
+                this.directories.remove(directory);
+                throw e;
+            }
+        }
+        this.files.put(path, file);
+        Collections.addAll(this.bindings.computeIfAbsent(file, f -> new CopyOnWriteArraySet<>()), reloadables);
+    }
+
+    /**
+     * Stops watching a file and forgets the reloadables bound to it.
+     *
+     * @param file The file to stop watching.
+     */
+    public void unwatch(@NotNull YamlFile file) {
+        this.files.values().remove(file);
+        this.bindings.remove(file);
+    }
+
+    /**
+     * Waits for edits, collecting the edited files until no more edits happen for the debounce delay.
+     */
+    private void watch() {
+        Set<Path> edited = new HashSet<>();
+        long deadline = 0;
+        try {
+            while (!this.closed) {
+                WatchKey key;
+                if (edited.isEmpty()) {
+                    key = this.watchService.take();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    key = remaining <= 0 ? null : this.watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (key == null) {
+                        reload(edited);
+                        edited = new HashSet<>();
+                        continue;
+                    }
+                }
+
+                Path directory = (Path) key.watchable();
+                boolean relevant = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        edited.addAll(this.files.keySet());
+                        relevant = true;
+                        continue;
+                    }
+                    Path path = directory.resolve((Path) event.context());
+                    if (this.files.containsKey(path)) {
+                        edited.add(path);
+                        relevant = true;
+                    }
+                }
+                key.reset();
+                if (relevant) deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.debounceMillis);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Closed.
+        }
+    }
+
+    /**
+     * Reloads the edited files whose content changed, and then reloads every reloadable bound to them, once.
+     *
+     * @param edited The paths of the edited files.
+     */
+    private void reload(Set<Path> edited) {
+        List<YamlFile> reloaded = new ArrayList<>();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (Path path : edited) {
+            YamlFile file = this.files.get(path);
+            if (file == null) continue;
+            reloaded.add(file);
+            // Parse on this thread, the file is only applied on the main thread.
+            results.add(file.reloadIfChanged(Runnable::run).exceptionally(e -> {
+                this.plugin.getLogger().log(Level.WARNING, "Could not reload " + file.getFileName(), e);
+                return false;
+            }));
+        }
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).thenRunAsync(() -> {
+            Set<Reloadable> toReload = new LinkedHashSet<>();
+            for (int i = 0; i < reloaded.size(); i++) {
+                if (!results.get(i).join()) continue;
+                Set<Reloadable> bound = this.bindings.get(reloaded.get(i));
+                if (bound != null) toReload.addAll(bound);
+            }
+            if (this.closed) return;
+            toReload.forEach(reloadable -> reloadable.reload(false));
+        }, this.mainThread);
+    }
+
+    /**
+     * Stops watching every file.
+     */
+    public void close() {
+        this.closed = true;
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+            this.plugin.getLogger().log(Level.WARNING, "Could not close the file watcher", e);
+        }
+        this.thread.interrupt();
+    }
+
+    /**
+     * Checks if this watcher was closed.
+     *
+     * @return true if files are no longer watched.
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+}
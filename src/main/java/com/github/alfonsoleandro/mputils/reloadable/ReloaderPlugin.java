@@ -21,8 +21,12 @@ SOFTWARE.
  */
 package com.github.alfonsoleandro.mputils.reloadable;
 
+import com.github.alfonsoleandro.mputils.files.YamlFile;
+import com.github.alfonsoleandro.mputils.string.StringUtils;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -41,6 +45,10 @@ public abstract class ReloaderPlugin extends JavaPlugin {
      * @see #reload()
      */
     protected final Set<Reloadable> reloadables = new HashSet<>();
+    /**
+     * The watcher reloading files when they are edited, or null if not enabled.
+     */
+    private FileWatcher fileWatcher;
 
     /**
      * Adds a new Reloadable to the reloadables collection.
@@ -68,17 +76,73 @@ public abstract class ReloaderPlugin extends JavaPlugin {
      */
     @Deprecated
     public void reload() {
+        StringUtils.clearColorCache();
         this.reloadables.forEach(r -> r.reload(false));
     }
 
     /**
      * Reloads every reloadable class, reloading the plugin.
+     * Clears the {@link StringUtils} color cache beforehand, so no colorized string from the old configuration lingers.
      *
      * @param deep Whether the reload will be deep
      *             (Some actions may impact performance more than others, and they are not to be reloaded every time)
      * @see Reloadable
      */
     public void reload(boolean deep) {
+        StringUtils.clearColorCache();
         this.reloadables.forEach(r -> r.reload(deep));
     }
+
+    /**
+     * Writes the pending changes of every write-behind {@link YamlFile} of this plugin and stops the file watcher,
+     * if enabled. Plugins overriding this method must call {@code super.onDisable()}, or pending write-behind saves
+     * are lost.
+     *
+     * @since 1.10.0
+     */
+    @Override
+    public void onDisable() {
+        YamlFile.flushAll(this);
+        disableFileWatcher();
+    }
+
+    /**
+     * Starts watching this plugin's files for edits, so they can be reloaded without a reload command. Files are
+     * only watched once {@link FileWatcher#watch(YamlFile, Reloadable...) bound} to the reloadables to reload when
+     * they change.
+     *
+     * @param debounceMillis The amount of milliseconds without edits to wait for before reading the edited files.
+     * @return The file watcher, the same one if already enabled.
+     * @throws IOException If the file watcher could not be created.
+     * @since 1.10.0
+     */
+    public FileWatcher enableFileWatcher(long debounceMillis) throws IOException {
+        if (this.fileWatcher == null) {
+            this.fileWatcher = new FileWatcher(this, debounceMillis);
+        }
+        return this.fileWatcher;
+    }
+
+    /**
+     * Stops watching this plugin's files for edits. Called when the plugin is disabled.
+     *
+     * @since 1.10.0
+     */
+    public void disableFileWatcher() {
+        if (this.fileWatcher == null) return;
+        this.fileWatcher.close();
+        this.fileWatcher = null;
+    }
+
+    /**
+     * Gets the watcher reloading this plugin's files when they are edited.
+     *
+     * @return The file watcher, or null if not enabled.
+     * @see #enableFileWatcher(long)
+     * @since 1.10.0
+     */
+    @Nullable
+    public FileWatcher getFileWatcher() {
+        return this.fileWatcher;
+    }
 }
@@ -0,0 +1,154 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.string;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded, thread safe, least recently used cache of already colorized strings, keyed by the raw string.
+ * Used by {@link StringUtils#colorizeString(char, String)} for {@literal '&'} once enabled via {@link StringUtils#enableColorCache(int)}.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class ColorCache {
+
+    /**
+     * The maximum amount of strings this cache can hold before evicting the least recently used one.
+     */
+    private final int maxSize;
+    /**
+     * The raw string to colorized string map, in access order.
+     */
+    private final LinkedHashMap<String, String> cache;
+    /**
+     * The amount of lookups that found a colorized string.
+     */
+    private long hits;
+    /**
+     * The amount of lookups that did not find a colorized string.
+     */
+    private long misses;
+    /**
+     * The amount of strings removed from the cache for exceeding {@link #maxSize}.
+     */
+    private long evictions;
+
+    /**
+     * Creates a new, empty, color cache.
+     *
+     * @param maxSize The maximum amount of strings to hold. Must be greater than 0.
+     */
+    ColorCache(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("Color cache size must be greater than 0");
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                if (size() > ColorCache.this.maxSize) {
+                    ColorCache.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the colorized version of a raw string, if present, and counts the lookup as a hit or a miss.
+     *
+     * @param raw The string before being colorized.
+     * @return The colorized string or null if it is not present in this cache.
+     */
+    synchronized String get(String raw) {
+        String colorized = this.cache.get(raw);
+        if (colorized == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return colorized;
+    }
+
+    /**
+     * Stores the colorized version of a raw string, evicting the least recently used string if necessary.
+     *
+     * @param raw       The string before being colorized.
+     * @param colorized The colorized string.
+     */
+    synchronized void put(String raw, String colorized) {
+        this.cache.put(raw, colorized);
+    }
+
+    /**
+     * Removes every string from this cache. Counters are left untouched.
+     */
+    public synchronized void clear() {
+        this.cache.clear();
+    }
+
+    /**
+     * Gets the amount of strings currently in this cache.
+     *
+     * @return The amount of cached strings.
+     */
+    public synchronized int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Gets the maximum amount of strings this cache can hold.
+     *
+     * @return The maximum size of this cache.
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Gets the amount of lookups that found an already colorized string.
+     *
+     * @return The amount of cache hits.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets the amount of lookups that did not find an already colorized string.
+     *
+     * @return The amount of cache misses.
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Gets the amount of strings removed from this cache for exceeding its maximum size.
+     *
+     * @return The amount of evictions.
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.string;
+
+/**
+ * Fixed size, lock free cache of the legacy sequences ({@literal "§x§R§R§G§G§B§B"}) RGB hex colors translate to.
+ * Uses open addressing over primitive int keys, so looking a color up allocates nothing. When every slot a key
+ * can go in is taken, one of them is overwritten, so the cache never grows.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+final class HexColorCache {
+
+    /**
+     * The amount of slots in the table. Must be a power of two.
+     */
+    private static final int CAPACITY = 8192;
+    /**
+     * The amount of slots to look in before giving up on a key.
+     */
+    private static final int MAX_PROBES = 8;
+
+    /**
+     * The table of cached sequences. Each entry is immutable, so racing threads can only lose an entry,
+     * never read a mismatched key and sequence.
+     */
+    private final Entry[] table = new Entry[CAPACITY];
+
+    /**
+     * Gets the legacy sequence for the 6 hex digits starting at the given index.
+     * The digits must have already been checked to be valid hex digits.
+     *
+     * @param string The string containing the hex digits.
+     * @param start  The index of the first hex digit.
+     * @return The same string {@code net.md_5.bungee.api.ChatColor.of("#RRGGBB").toString()} would return.
+     */
+    String get(String string, int start) {
+        int key = 0;
+        int uppercase = 0;
+        for (int i = 0; i < 6; i++) {
+            char c = string.charAt(start + i);
+            key = key << 4 | Character.digit(c, 16);
+            if (c >= 'A' && c <= 'F') uppercase |= 1 << i;
+        }
+        // The sequence keeps the case of each digit, so the case goes into the key too.
+        key |= uppercase << 24;
+
+        int index = (key * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(CAPACITY));
+        int free = -1;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            Entry entry = this.table[(index + probe) & (CAPACITY - 1)];
+            if (entry == null) {
+                free = (index + probe) & (CAPACITY - 1);
+                break;
+            }
+            if (entry.key == key) return entry.sequence;
+        }
+
+        String sequence = net.md_5.bungee.api.ChatColor.of(string.substring(start - 1, start + 6)).toString();
+        this.table[free == -1 ? index : free] = new Entry(key, sequence);
+        return sequence;
+    }
+
+    /**
+     * A cached color and its legacy sequence.
+     *
+     * @param key      The 24-bit color plus the case of each of its digits.
+     * @param sequence The legacy sequence for the color.
+     */
+    private record Entry(int key, String sequence) {
+    }
+}
@@ -0,0 +1,539 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.string;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A string split once into literal and placeholder segments, so placeholders can later be replaced in a single pass.
+ * Placeholders are delimited by '%' and contain no whitespace, for example {@literal "%player%"}.
+ * <p>
+ * Unlike chained {@link String#replace(CharSequence, CharSequence)} calls, replacement values are never scanned for
+ * more placeholders. Placeholders with no given replacement are left as they are.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class MessageTemplate {
+
+    /**
+     * The string this template was compiled from.
+     */
+    private final String source;
+    /**
+     * The literal segments, one more than {@link #placeholders}. literals[i] goes before placeholders[i].
+     */
+    private final String[] literals;
+    /**
+     * The placeholder segments, delimiters included.
+     */
+    private final String[] placeholders;
+    /**
+     * The sum of the length of every literal segment.
+     */
+    private final int literalsLength;
+    /**
+     * Whether the closing delimiter of any placeholder segment also opens another placeholder, as in
+     * "5%,%player%". Such a segment without a value must not consume that delimiter.
+     */
+    private final boolean overlapping;
+
+    /**
+     * Creates a new template from already parsed segments.
+     *
+     * @param source       The string this template was compiled from.
+     * @param literals     The literal segments.
+     * @param placeholders The placeholder segments.
+     * @param overlapping  Whether the closing delimiter of any placeholder segment also opens another placeholder.
+     */
+    private MessageTemplate(String source, String[] literals, String[] placeholders, boolean overlapping) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.overlapping = overlapping;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * Parses a string into a template.
+     *
+     * @param source The string to parse.
+     * @return The compiled template.
+     */
+    public static MessageTemplate compile(@NotNull String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        int i = 0;
+        boolean overlapping = false;
+
+        while (i < source.length()) {
+            int end = placeholderEnd(source, i);
+            if (end == -1) {
+                i++;
+                continue;
+            }
+            literals.add(source.substring(literalStart, i));
+            placeholders.add(source.substring(i, end));
+            if (!overlapping && placeholderEnd(source, end - 1) != -1) overlapping = true;
+            literalStart = end;
+            i = end;
+        }
+        literals.add(source.substring(literalStart));
+
+        return new MessageTemplate(source, literals.toArray(new String[0]), placeholders.toArray(new String[0]),
+                overlapping);
+    }
+
+    /**
+     * Replaces every placeholder in a string in a single pass, without compiling it into a template. Meant for
+     * strings rendered only once; strings rendered more than once should be {@link #compile(String) compiled}.
+     * If any of the strings to replace is not a placeholder, falls back to chained
+     * {@link String#replace(CharSequence, CharSequence)} calls.
+     *
+     * @param source       The string to replace placeholders in.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The resulting string.
+     */
+    public static String replace(@NotNull String source, String... replacements) {
+        if (replacements.length < 2) return source;
+        if (!arePlaceholders(replacements)) {
+            String result = source;
+            for (int i = 0; i + 1 < replacements.length; i += 2) {
+                result = result.replace(replacements[i], replacements[i + 1]);
+            }
+            return result;
+        }
+        return replacePairs(source, replacements);
+    }
+
+    /**
+     * Replaces every placeholder in a string in a single pass, comparing each one found against every given
+     * placeholder.
+     *
+     * @param source       The string to replace placeholders in.
+     * @param replacements The placeholders and their replacements, in pairs. Every string to replace is expected
+     *                     to be a placeholder.
+     * @return The resulting string.
+     */
+    private static String replacePairs(String source, String[] replacements) {
+        return replace(source, (start, end) -> {
+            for (int j = 0; j + 1 < replacements.length; j += 2) {
+                String placeholder = replacements[j];
+                if (placeholder.length() == end - start && source.startsWith(placeholder, start)) {
+                    return replacements[j + 1];
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Replaces every placeholder in a string with the values in the map in a single pass, without compiling it
+     * into a template. If any of the keys is not a placeholder, falls back to chained
+     * {@link String#replace(CharSequence, CharSequence)} calls.
+     *
+     * @param source       The string to replace placeholders in.
+     * @param placeholders The map with the placeholders and their values.
+     * @return The resulting string.
+     */
+    public static String replace(@NotNull String source, @NotNull Map<String, String> placeholders) {
+        if (placeholders.isEmpty()) return source;
+        // Small maps are compared entry by entry, like pairs of replacements, which is cheaper than hashing a
+        // substring for every placeholder found.
+        String[] pairs = placeholders.size() <= 16 ? new String[placeholders.size() * 2] : null;
+        int i = 0;
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            if (!isPlaceholder(entry.getKey())) {
+                String result = source;
+                for (Map.Entry<String, String> replacement : placeholders.entrySet()) {
+                    result = result.replace(replacement.getKey(), replacement.getValue());
+                }
+                return result;
+            }
+            if (pairs != null) {
+                pairs[i++] = entry.getKey();
+                pairs[i++] = entry.getValue();
+            }
+        }
+        if (pairs != null) return replacePairs(source, pairs);
+        return replace(source, (start, end) -> end - start > 2 ? placeholders.get(source.substring(start, end)) : null);
+    }
+
+    /**
+     * Scans a string once, copying its literal segments and the replacement of each placeholder found.
+     * Delimiters are found with {@link String#indexOf(int, int)}, and every string to replace is already known to
+     * be a placeholder. A segment without a replacement is skipped up to its closing delimiter only, which may open
+     * the next placeholder, so the result matches chained {@link String#replace(CharSequence, CharSequence)} calls.
+     *
+     * @param source       The string to replace placeholders in.
+     * @param replacements Gives the replacement for the segment between two indexes, or null if there is none.
+     * @return The resulting string, or the same string if no placeholder was replaced.
+     */
+    private static String replace(String source, PlaceholderLookup replacements) {
+        StringBuilder sb = null;
+        int literalStart = 0;
+        int i = source.indexOf('%');
+        while (i != -1) {
+            int close = source.indexOf('%', i + 1);
+            if (close == -1) break;
+            String replacement = replacements.get(i, close + 1);
+            if (replacement != null) {
+                if (sb == null) sb = new StringBuilder(source.length() + 32);
+                sb.append(source, literalStart, i).append(replacement);
+                literalStart = close + 1;
+                i = source.indexOf('%', close + 1);
+            } else {
+                // No replacement, its closing delimiter may open the next placeholder, as in "5%,%player%".
+                i = close;
+            }
+        }
+        if (sb == null) return source;
+        return sb.append(source, literalStart, source.length()).toString();
+    }
+
+    /**
+     * Checks if a placeholder starts at the given index of a string.
+     *
+     * @param string The string to look in.
+     * @param start  The index where the placeholder should start.
+     * @return The index right after the closing delimiter, or -1 if there is no placeholder at the given index.
+     */
+    private static int placeholderEnd(String string, int start) {
+        if (string.charAt(start) != '%') return -1;
+        for (int i = start + 1; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '%') return i == start + 1 ? -1 : i + 1;
+            // Every whitespace character is either up to ' ' or from '\u1680', skip the lookup for the rest.
+            if ((c <= ' ' || c >= '\u1680') && Character.isWhitespace(c)) return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the given string would be parsed as a single placeholder.
+     *
+     * @param string The string to check.
+     * @return true if the whole string is a placeholder.
+     */
+    static boolean isPlaceholder(String string) {
+        return string.length() > 2 && placeholderEnd(string, 0) == string.length();
+    }
+
+    /**
+     * Replaces every placeholder in this template with the given replacements.
+     * If any of the strings to replace is not a placeholder, falls back to chained
+     * {@link String#replace(CharSequence, CharSequence)} calls over the source string.
+     *
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The resulting string.
+     */
+    public String render(String... replacements) {
+        if (replacements.length < 2) return this.source;
+        if (!arePlaceholders(replacements)) return replaceEach(replacements);
+        if (this.placeholders.length == 0) return this.source;
+        if (!isSegmentable(replacements)) return replacePairs(this.source, replacements);
+
+        StringBuilder sb = new StringBuilder(this.literalsLength + this.placeholders.length * 16);
+        renderTo(sb, replacements);
+        return sb.toString();
+    }
+
+    /**
+     * Appends this template to the given StringBuilder, replacing every placeholder with the given replacements.
+     * Every string to replace is expected to be a placeholder, and this template to be
+     * {@link #isSegmentable(String...) segmentable} with them.
+     *
+     * @param sb           The StringBuilder to append to.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     */
+    void renderTo(StringBuilder sb, String... replacements) {
+        for (int i = 0; i < this.placeholders.length; i++) {
+            sb.append(this.literals[i]).append(getReplacement(i, replacements));
+        }
+        sb.append(this.literals[this.placeholders.length]);
+    }
+
+    /**
+     * Replaces every placeholder in this template with the values in the map.
+     * If any of the keys is not a placeholder, falls back to chained
+     * {@link String#replace(CharSequence, CharSequence)} calls over the source string.
+     *
+     * @param placeholders The map with the placeholders and their values.
+     * @return The resulting string.
+     */
+    public String render(Map<String, String> placeholders) {
+        if (placeholders.isEmpty()) return this.source;
+        for (String key : placeholders.keySet()) {
+            if (!isPlaceholder(key)) return replaceEach(placeholders);
+        }
+        if (this.placeholders.length == 0) return this.source;
+        if (this.overlapping) {
+            for (String placeholder : this.placeholders) {
+                if (!placeholders.containsKey(placeholder)) return replace(this.source, placeholders);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(this.literalsLength + this.placeholders.length * 16);
+        for (int i = 0; i < this.placeholders.length; i++) {
+            sb.append(this.literals[i]);
+            String replacement = placeholders.get(this.placeholders[i]);
+            sb.append(replacement == null ? this.placeholders[i] : replacement);
+        }
+        sb.append(this.literals[this.placeholders.length]);
+        return sb.toString();
+    }
+
+    /**
+     * Replaces every placeholder in this template with the given typed values. Values whose placeholder is not
+     * present in this template are never formatted or evaluated.
+     *
+     * @param placeholders The placeholder values.
+     * @return The resulting string.
+     */
+    public String render(@NotNull Placeholders placeholders) {
+        if (this.placeholders.length == 0 || placeholders.size() == 0) return this.source;
+        if (!isSegmentable(placeholders)) {
+            return replace(this.source, (start, end) -> {
+                int index = placeholders.indexOf(this.source.substring(start, end));
+                return index == -1 ? null : placeholders.get(index);
+            });
+        }
+
+        StringBuilder sb = new StringBuilder(this.literalsLength + this.placeholders.length * 16);
+        for (int i = 0; i < this.placeholders.length; i++) {
+            sb.append(this.literals[i]);
+            int index = placeholders.indexOf(this.placeholders[i]);
+            if (index == -1) {
+                sb.append(this.placeholders[i]);
+            } else {
+                placeholders.appendTo(sb, index);
+            }
+        }
+        sb.append(this.literals[this.placeholders.length]);
+        return sb.toString();
+    }
+
+    /**
+     * Gets the replacement for one of this template's placeholders from the given typed values.
+     *
+     * @param index        The index of the placeholder, between 0 and {@link #getPlaceholderCount()} - 1.
+     * @param placeholders The placeholder values.
+     * @return The value for the placeholder, or the placeholder itself if there is none.
+     */
+    public String getReplacement(int index, @NotNull Placeholders placeholders) {
+        String placeholder = this.placeholders[index];
+        int valueIndex = placeholders.indexOf(placeholder);
+        return valueIndex == -1 ? placeholder : placeholders.get(valueIndex);
+    }
+
+    /**
+     * Replaces the given strings in the source string one by one.
+     *
+     * @param replacements The string to replace and its replacements, in pairs.
+     * @return The resulting string.
+     */
+    private String replaceEach(String... replacements) {
+        String result = this.source;
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            result = result.replace(replacements[i], replacements[i + 1]);
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the keys of the given map in the source string one by one.
+     *
+     * @param placeholders The map with the strings to replace and their values.
+     * @return The resulting string.
+     */
+    private String replaceEach(Map<String, String> placeholders) {
+        String result = this.source;
+        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
+            result = result.replace(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the replacement for one of this template's placeholders.
+     *
+     * @param index        The index of the placeholder, between 0 and {@link #getPlaceholderCount()} - 1.
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return The first replacement given for the placeholder, or the placeholder itself if none was given.
+     */
+    public String getReplacement(int index, String... replacements) {
+        String placeholder = this.placeholders[index];
+        for (int j = 0; j + 1 < replacements.length; j += 2) {
+            if (placeholder.equals(replacements[j])) return replacements[j + 1];
+        }
+        return placeholder;
+    }
+
+    /**
+     * Checks if every string to replace in the given replacements is a placeholder, so they can be
+     * rendered one segment at a time.
+     *
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return true if every string to replace is a placeholder.
+     */
+    public static boolean arePlaceholders(String... replacements) {
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            if (!isPlaceholder(replacements[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if rendering this template one segment at a time, as {@link #getReplacement(int, String...)} does,
+     * gives the same result as scanning its source for the given placeholders. It does not when a placeholder
+     * segment has no value and its closing delimiter opens another placeholder, as in "5%,%player%".
+     *
+     * @param replacements The string to replace from the message and its replacements in the following format:
+     *                     "string1", "replacement1", "string2", replacement2,... , "stringN", "replacementN".
+     * @return true if every placeholder segment can be replaced on its own.
+     * @since 1.10.0
+     */
+    public boolean isSegmentable(String... replacements) {
+        if (!this.overlapping) return true;
+        for (String placeholder : this.placeholders) {
+            boolean found = false;
+            for (int j = 0; j + 1 < replacements.length && !found; j += 2) {
+                found = placeholder.equals(replacements[j]);
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if rendering this template one segment at a time, as {@link #getReplacement(int, Placeholders)} does,
+     * gives the same result as scanning its source for the given placeholders.
+     *
+     * @param placeholders The placeholder values.
+     * @return true if every placeholder segment can be replaced on its own.
+     * @see #isSegmentable(String...)
+     * @since 1.10.0
+     */
+    public boolean isSegmentable(@NotNull Placeholders placeholders) {
+        if (!this.overlapping) return true;
+        for (String placeholder : this.placeholders) {
+            if (placeholders.indexOf(placeholder) == -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the amount of placeholders found when compiling, repeated ones included.
+     *
+     * @return The amount of placeholder segments.
+     */
+    public int getPlaceholderCount() {
+        return this.placeholders.length;
+    }
+
+    /**
+     * Gets one of the placeholder segments.
+     *
+     * @param index The index of the placeholder, between 0 and {@link #getPlaceholderCount()} - 1.
+     * @return The placeholder, delimiters included.
+     */
+    public String getPlaceholder(int index) {
+        return this.placeholders[index];
+    }
+
+    /**
+     * Gets one of the literal segments. The literal at a given index goes right before the placeholder
+     * at the same index.
+     *
+     * @param index The index of the literal, between 0 and {@link #getPlaceholderCount()}.
+     * @return The literal segment, possibly empty.
+     */
+    public String getLiteral(int index) {
+        return this.literals[index];
+    }
+
+    /**
+     * Checks if this template contains the given placeholder.
+     *
+     * @param placeholder The placeholder to look for, delimiters included.
+     * @return true if the placeholder is present at least once.
+     */
+    public boolean containsPlaceholder(String placeholder) {
+        for (String p : this.placeholders) {
+            if (p.equals(placeholder)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if this template contains any placeholder.
+     *
+     * @return true if at least one placeholder was found when compiling.
+     */
+    public boolean hasPlaceholders() {
+        return this.placeholders.length > 0;
+    }
+
+    /**
+     * Gets the string this template was compiled from.
+     *
+     * @return The source string.
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+
+    /**
+     * Gives the replacement for a placeholder found while scanning a string.
+     */
+    @FunctionalInterface
+    private interface PlaceholderLookup {
+
+        /**
+         * Gets the replacement for the segment between two delimiters of the scanned string.
+         *
+         * @param start The index of the opening delimiter.
+         * @param end   The index right after the closing delimiter.
+         * @return The replacement, or null if the segment has none.
+         */
+        String get(int start, int end);
+    }
+}
@@ -0,0 +1,243 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.string;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Typed placeholder values for a {@link MessageTemplate}. Numbers are stored as primitives and only formatted,
+ * and lazy values are only evaluated, if the template being rendered actually contains their placeholder.
+ * Lazy values are evaluated at most once.
+ * <p>
+ * Meant to be created for a single message and not shared between threads.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class Placeholders {
+
+    /**
+     * Value type of a String value.
+     */
+    private static final byte STRING = 0;
+    /**
+     * Value type of a long value, stored in {@link #primitives}.
+     */
+    private static final byte LONG = 1;
+    /**
+     * Value type of a double value, stored in {@link #primitives} as raw long bits.
+     */
+    private static final byte DOUBLE = 2;
+    /**
+     * Value type of a {@link Supplier} value not evaluated yet.
+     */
+    private static final byte LAZY = 3;
+
+    /**
+     * The placeholders, delimiters included.
+     */
+    private String[] placeholders;
+    /**
+     * The type of each value.
+     */
+    private byte[] types;
+    /**
+     * The long and double values.
+     */
+    private long[] primitives;
+    /**
+     * The String and lazy values.
+     */
+    private Object[] values;
+    /**
+     * The amount of placeholders added.
+     */
+    private int size;
+
+    /**
+     * Creates an empty set of placeholder values.
+     */
+    public Placeholders() {
+        this.placeholders = new String[8];
+        this.types = new byte[8];
+        this.primitives = new long[8];
+        this.values = new Object[8];
+    }
+
+    /**
+     * Adds a placeholder value.
+     *
+     * @param placeholder The placeholder, delimiters included. For example {@literal "%player%"}.
+     * @param value       The value to replace the placeholder with.
+     * @return This object.
+     */
+    public Placeholders add(@NotNull String placeholder, @NotNull String value) {
+        int index = next(placeholder, STRING);
+        this.values[index] = value;
+        return this;
+    }
+
+    /**
+     * Adds a placeholder value, formatted only if used.
+     *
+     * @param placeholder The placeholder, delimiters included. For example {@literal "%amount%"}.
+     * @param value       The value to replace the placeholder with.
+     * @return This object.
+     */
+    public Placeholders add(@NotNull String placeholder, long value) {
+        int index = next(placeholder, LONG);
+        this.primitives[index] = value;
+        return this;
+    }
+
+    /**
+     * Adds a placeholder value, formatted only if used.
+     *
+     * @param placeholder The placeholder, delimiters included. For example {@literal "%amount%"}.
+     * @param value       The value to replace the placeholder with.
+     * @return This object.
+     */
+    public Placeholders add(@NotNull String placeholder, int value) {
+        return add(placeholder, (long) value);
+    }
+
+    /**
+     * Adds a placeholder value, formatted only if used.
+     *
+     * @param placeholder The placeholder, delimiters included. For example {@literal "%balance%"}.
+     * @param value       The value to replace the placeholder with.
+     * @return This object.
+     */
+    public Placeholders add(@NotNull String placeholder, double value) {
+        int index = next(placeholder, DOUBLE);
+        this.primitives[index] = Double.doubleToRawLongBits(value);
+        return this;
+    }
+
+    /**
+     * Adds a placeholder value, evaluated only if used, and only once.
+     *
+     * @param placeholder The placeholder, delimiters included. For example {@literal "%time%"}.
+     * @param value       The supplier of the value to replace the placeholder with.
+     * @return This object.
+     */
+    public Placeholders add(@NotNull String placeholder, @NotNull Supplier<?> value) {
+        int index = next(placeholder, LAZY);
+        this.values[index] = value;
+        return this;
+    }
+
+    /**
+     * Reserves the next slot for a placeholder value.
+     *
+     * @param placeholder The placeholder.
+     * @param type        The type of the value.
+     * @return The index of the reserved slot.
+     */
+    private int next(String placeholder, byte type) {
+        if (!MessageTemplate.isPlaceholder(placeholder)) {
+            throw new IllegalArgumentException("\"" + placeholder + "\" is not a placeholder, expected a %name% format");
+        }
+        if (this.size == this.placeholders.length) {
+            int capacity = this.size * 2;
+            this.placeholders = Arrays.copyOf(this.placeholders, capacity);
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.primitives = Arrays.copyOf(this.primitives, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        this.placeholders[this.size] = placeholder;
+        this.types[this.size] = type;
+        return this.size++;
+    }
+
+    /**
+     * Gets the index of the first value added for a placeholder.
+     *
+     * @param placeholder The placeholder to look for.
+     * @return The index or -1 if there is no value for that placeholder.
+     */
+    int indexOf(String placeholder) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.placeholders[i].equals(placeholder)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Appends a value to a StringBuilder, without creating a String for numbers.
+     *
+     * @param sb    The StringBuilder to append to.
+     * @param index The index of the value.
+     */
+    void appendTo(StringBuilder sb, int index) {
+        switch (this.types[index]) {
+            case LONG -> sb.append(this.primitives[index]);
+            case DOUBLE -> sb.append(Double.longBitsToDouble(this.primitives[index]));
+            default -> sb.append(get(index));
+        }
+    }
+
+    /**
+     * Gets a value as a String, evaluating it if it is lazy.
+     *
+     * @param index The index of the value.
+     * @return The value as a String.
+     */
+    String get(int index) {
+        return switch (this.types[index]) {
+            case LONG -> Long.toString(this.primitives[index]);
+            case DOUBLE -> Double.toString(Double.longBitsToDouble(this.primitives[index]));
+            case LAZY -> {
+                String value = String.valueOf(((Supplier<?>) this.values[index]).get());
+                this.values[index] = value;
+                this.types[index] = STRING;
+                yield value;
+            }
+            default -> (String) this.values[index];
+        };
+    }
+
+    /**
+     * Gets the value for a placeholder as a String, evaluating it if it is lazy.
+     *
+     * @param placeholder The placeholder to look for.
+     * @return The value or null if there is no value for that placeholder.
+     */
+    @Nullable
+    public String get(@NotNull String placeholder) {
+        int index = indexOf(placeholder);
+        return index == -1 ? null : get(index);
+    }
+
+    /**
+     * Gets the amount of placeholder values added.
+     *
+     * @return The amount of placeholders.
+     */
+    public int size() {
+        return this.size;
+    }
+}
@@ -24,6 +24,8 @@ package com.github.alfonsoleandro.mputils.string;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -36,10 +38,56 @@ import java.util.regex.Pattern;
  */
 public class StringUtils {
 
+    /**
+     * The cache used by {@link #colorizeString(char, String)}, null while disabled.
+     *
+     * @see #enableColorCache(int)
+     */
+    private static volatile ColorCache colorCache;
+    /**
+     * The cache of legacy sequences for RGB hex colors used by {@link #colorizeString(char, String)}.
+     */
+    private static final HexColorCache HEX_COLORS = new HexColorCache();
+    /**
+     * The pixel in the chat box that {@link #centerMessage(String)} centers messages around.
+     */
+    public static final int CHAT_CENTER_PX = 154;
+    /**
+     * The width, in pixels and without the 1 pixel spacing, of every ASCII char in the default minecraft font.
+     */
+    private static final byte[] GLYPH_WIDTHS = new byte[128];
+    /**
+     * The width, in pixels and without the 1 pixel spacing, of chars not present in {@link #GLYPH_WIDTHS}.
+     */
+    private static final int DEFAULT_GLYPH_WIDTH = 5;
+    /**
+     * The maximum amount of compiled patterns kept by {@link #countRegexMatches(String, String)}.
+     */
+    private static final int PATTERN_CACHE_SIZE = 64;
+    /**
+     * Recently used regular expressions and their compiled patterns, in access order.
+     */
+    private static final Map<String, Pattern> PATTERN_CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > PATTERN_CACHE_SIZE;
+        }
+    };
+
+    static {
+        Arrays.fill(GLYPH_WIDTHS, (byte) DEFAULT_GLYPH_WIDTH);
+        setGlyphWidth(1, "!,.:;'|il");
+        setGlyphWidth(2, "`");
+        setGlyphWidth(3, " \"I[]");
+        setGlyphWidth(4, "()<>{}fkt*");
+        setGlyphWidth(6, "@");
+    }
+
 
     /**
      * Colorizes a string using {@link ChatColor} RGB hex color codes AND {@link ChatColor#translateAlternateColorCodes(char, String)}
      * or in case the server version is older than 1.16.1 only uses {@link ChatColor#translateAlternateColorCodes(char, String)}.
+     * When using {@literal '&'} as the alternate color code, the result is taken from the {@link ColorCache}, if enabled.
      *
      * @param alternateColorCode The alternate color code to check for in replacement of '§'.
      * @param string             The string to give color to.
@@ -50,18 +98,112 @@ public class StringUtils {
             Bukkit.getConsoleSender().sendMessage(ChatColor.RED + "[MPUtils] There was an error while colorizing a string, check your config");
             return "";
         }
-        Pattern pattern = Pattern.compile("&#[0-9a-fA-F]{6}");
-        Matcher matcher = pattern.matcher(string);
-        while (matcher.find()) {
-            try {
-                string = string.replace(matcher.group(), net.md_5.bungee.api.ChatColor.of(matcher.group().replace("&", "")).toString());
-            } catch (Error | Exception e) {
-                //Version < 1.16.1 = No RGB
-                break;
+        ColorCache cache = colorCache;
+        if (cache == null || alternateColorCode != '&') return translateColors(alternateColorCode, string);
+
+        String colorized = cache.get(string);
+        if (colorized == null) {
+            colorized = translateColors(alternateColorCode, string);
+            cache.put(string, colorized);
+        }
+        return colorized;
+    }
+
+    /**
+     * Translates RGB hex color codes and alternate color codes in a single pass.
+     *
+     * @param alternateColorCode The alternate color code to check for in replacement of '§'.
+     * @param string             The string to give color to.
+     * @return The colored string.
+     */
+    private static String translateColors(char alternateColorCode, String string) {
+        final int length = string.length();
+        // Worst case every 8 char "&#RRGGBB" becomes a 14 char "§x§R§R§G§G§B§B", nothing else grows.
+        final char[] result = new char[length + (length >> 3) * 6];
+        int size = 0;
+        boolean hex = true;
+
+        for (int i = 0; i < length; i++) {
+            if (hex && isHexColorCode(string, i)) {
+                String hexColor;
+                try {
+                    hexColor = HEX_COLORS.get(string, i + 2);
+                } catch (Error | Exception e) {
+                    //Version < 1.16.1 = No RGB
+                    hex = false;
+                    size = appendColorized(result, size, alternateColorCode, string.charAt(i));
+                    continue;
+                }
+                for (int j = 0; j < hexColor.length(); j++) {
+                    size = appendColorized(result, size, alternateColorCode, hexColor.charAt(j));
+                }
+                i += 7;
+            } else {
+                size = appendColorized(result, size, alternateColorCode, string.charAt(i));
             }
         }
 
-        return ChatColor.translateAlternateColorCodes(alternateColorCode, string);
+        return new String(result, 0, size);
+    }
+
+    /**
+     * Appends a char to the given buffer, translating the previous char into {@link ChatColor#COLOR_CHAR} if it is the
+     * alternate color code and the given char is a valid color code. Behaves exactly like
+     * {@link ChatColor#translateAlternateColorCodes(char, String)} does, but one char at a time.
+     *
+     * @param buffer             The buffer being filled.
+     * @param size               The amount of chars already present in the buffer.
+     * @param alternateColorCode The alternate color code to check for in replacement of '§'.
+     * @param c                  The char to append.
+     * @return The new amount of chars present in the buffer.
+     */
+    private static int appendColorized(char[] buffer, int size, char alternateColorCode, char c) {
+        if (size > 0 && buffer[size - 1] == alternateColorCode && isColorCode(c)) {
+            buffer[size - 1] = ChatColor.COLOR_CHAR;
+            c = Character.toLowerCase(c);
+        }
+        buffer[size] = c;
+        return size + 1;
+    }
+
+    /**
+     * Checks if the given char is accepted by {@link ChatColor#translateAlternateColorCodes(char, String)} as a color
+     * or format code.
+     *
+     * @param c The char to check.
+     * @return true if the char is any of "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx".
+     */
+    private static boolean isColorCode(char c) {
+        return isHexDigit(c)
+                || (c >= 'k' && c <= 'o') || (c >= 'K' && c <= 'O')
+                || c == 'r' || c == 'R' || c == 'x' || c == 'X';
+    }
+
+    /**
+     * Checks if there is a hex color code with the format {@literal '&#RRGGBB'} at the given index of a string.
+     *
+     * @param string The string to look in.
+     * @param index  The index where the hex color code should start.
+     * @return true if the 8 chars starting at the given index are a valid hex color code.
+     */
+    private static boolean isHexColorCode(String string, int index) {
+        if (index + 8 > string.length() || string.charAt(index) != '&' || string.charAt(index + 1) != '#') {
+            return false;
+        }
+        for (int i = index + 2; i < index + 8; i++) {
+            if (!isHexDigit(string.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given char is an ASCII hexadecimal digit.
+     *
+     * @param c The char to check.
+     * @return true if the char is any of "0123456789abcdefABCDEF".
+     */
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
 
 
@@ -78,6 +220,175 @@ public class StringUtils {
     }
 
 
+    /**
+     * Enables (or replaces) the cache used by {@link #colorizeString(char, String)} for {@literal '&'}, so strings
+     * that were already colorized skip color translation entirely. Disabled by default.
+     *
+     * @param maxSize The maximum amount of colorized strings to keep. The least recently used ones are
+     *                evicted first.
+     * @return The new cache, which can be used for checking its hits, misses and evictions.
+     * @since 1.10.0
+     */
+    public static ColorCache enableColorCache(int maxSize) {
+        ColorCache cache = new ColorCache(maxSize);
+        colorCache = cache;
+        return cache;
+    }
+
+
+    /**
+     * Disables the cache used by {@link #colorizeString(char, String)}, dropping every cached string.
+     *
+     * @since 1.10.0
+     */
+    public static void disableColorCache() {
+        colorCache = null;
+    }
+
+
+    /**
+     * Gets the cache used by {@link #colorizeString(char, String)}.
+     *
+     * @return The cache or null if it has not been enabled.
+     * @since 1.10.0
+     */
+    public static ColorCache getColorCache() {
+        return colorCache;
+    }
+
+
+    /**
+     * Removes every string from the cache used by {@link #colorizeString(char, String)}, if enabled.
+     *
+     * @since 1.10.0
+     */
+    public static void clearColorCache() {
+        ColorCache cache = colorCache;
+        if (cache != null) cache.clear();
+    }
+
+
+    /**
+     * Sets the width of the given chars in {@link #GLYPH_WIDTHS}.
+     *
+     * @param width The width, in pixels, of every given char.
+     * @param chars The chars to set the width for.
+     */
+    private static void setGlyphWidth(int width, String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            GLYPH_WIDTHS[chars.charAt(i)] = (byte) width;
+        }
+    }
+
+
+    /**
+     * Counts the chars of an already colorized text that are actually visible, this is,
+     * every char except for {@link ChatColor#COLOR_CHAR} and the char right after it.
+     *
+     * @param text The colorized text.
+     * @return The amount of visible chars in the text.
+     * @since 1.10.0
+     */
+    public static int visibleLength(CharSequence text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == ChatColor.COLOR_CHAR) {
+                i++;
+            } else {
+                length++;
+            }
+        }
+        return length;
+    }
+
+
+    /**
+     * Calculates the width, in pixels, an already colorized text takes up when displayed using the default
+     * minecraft font. Bold text takes up one extra pixel per char, except for spaces.
+     *
+     * @param text The colorized text.
+     * @return The width of the text, in pixels.
+     * @since 1.10.0
+     */
+    public static int pixelWidth(CharSequence text) {
+        int width = 0;
+        boolean bold = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ChatColor.COLOR_CHAR) {
+                if (++i == text.length()) break;
+                char code = Character.toLowerCase(text.charAt(i));
+                if (code == 'l') {
+                    bold = true;
+                } else if (code == 'r' || code == 'x' || isHexDigit(code)) {
+                    bold = false;
+                }
+                continue;
+            }
+            width += (c < GLYPH_WIDTHS.length ? GLYPH_WIDTHS[c] : DEFAULT_GLYPH_WIDTH) + 1;
+            if (bold && c != ' ') width++;
+        }
+        return width;
+    }
+
+
+    /**
+     * Removes every color and format code from an already colorized text.
+     *
+     * @param text The colorized text.
+     * @return The same string if it had no color codes, or a new string with only its visible chars.
+     * @since 1.10.0
+     */
+    public static String stripColors(String text) {
+        int first = text.indexOf(ChatColor.COLOR_CHAR);
+        if (first == -1) return text;
+
+        char[] result = new char[text.length()];
+        text.getChars(0, first, result, 0);
+        int size = first;
+        for (int i = first; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ChatColor.COLOR_CHAR) {
+                i++;
+            } else {
+                result[size++] = c;
+            }
+        }
+        return new String(result, 0, size);
+    }
+
+
+    /**
+     * Colorizes a message and adds spaces before it, so it is centered in the chat box.
+     *
+     * @param message The message to center, using {@literal '&'} as the alternate color code.
+     * @return The colorized message, with as many spaces as needed before it.
+     * @see #centerMessage(String, int)
+     * @since 1.10.0
+     */
+    public static String centerMessage(String message) {
+        return centerMessage(message, CHAT_CENTER_PX);
+    }
+
+
+    /**
+     * Colorizes a message and adds spaces before it, so it is centered around the given pixel.
+     *
+     * @param message  The message to center, using {@literal '&'} as the alternate color code.
+     * @param centerPx The pixel to center the message around. Usually half the width of where it will be displayed.
+     * @return The colorized message, with as many spaces as needed before it.
+     * @since 1.10.0
+     */
+    public static String centerMessage(String message, int centerPx) {
+        String colorized = colorizeString('&', message);
+        int toCompensate = centerPx - pixelWidth(colorized) / 2;
+        if (toCompensate <= 0) return colorized;
+
+        int spaceWidth = GLYPH_WIDTHS[' '] + 1;
+        return " ".repeat(toCompensate / spaceWidth) + colorized;
+    }
+
+
     /**
      * Checks if a string is either null or empty ("").
      *
@@ -90,7 +401,8 @@ public class StringUtils {
 
 
     /**
-     * Counts the amount of time a string is present in another string.
+     * Counts the amount of time a string is present in another string. Matches do not overlap, and the substring
+     * is taken literally, see {@link #countRegexMatches(String, String)} for counting regular expression matches.
      *
      * @param string    The string where to count matches.
      * @param subString The string that should be found in the first string to count one more match.
@@ -101,7 +413,42 @@ public class StringUtils {
         if (isNullOrEmpty(string)) return 0;
         if (isNullOrEmpty(subString)) return 0;
 
-        Matcher matcher = Pattern.compile(subString).matcher(string);
+        int count = 0;
+        int index = string.indexOf(subString);
+        while (index != -1) {
+            count++;
+            index = string.indexOf(subString, index + subString.length());
+        }
+        return count;
+    }
+
+    /**
+     * Counts the amount of time a regular expression matches a string. Compiled patterns are cached, so the same
+     * regular expression is only compiled once.
+     *
+     * @param string The string where to count matches.
+     * @param regex  The regular expression to look for in the string.
+     * @return 0 if any of the parameter Strings is null or empty, in other case,
+     * the amount of time the regular expression matches the string.
+     * @throws java.util.regex.PatternSyntaxException If the regular expression is not valid.
+     * @since 1.10.0
+     */
+    public static int countRegexMatches(String string, String regex) {
+        if (isNullOrEmpty(string)) return 0;
+        if (isNullOrEmpty(regex)) return 0;
+
+        Pattern pattern;
+        synchronized (PATTERN_CACHE) {
+            pattern = PATTERN_CACHE.get(regex);
+        }
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            synchronized (PATTERN_CACHE) {
+                PATTERN_CACHE.put(regex, pattern);
+            }
+        }
+
+        Matcher matcher = pattern.matcher(string);
         int count = 0;
         while (matcher.find()) {
             count++;
@@ -115,11 +462,9 @@ public class StringUtils {
      * @param original     The original string.
      * @param placeholders The map with the placeholders and their values.
      * @return The string with all the placeholders replaced.
+     * @see MessageTemplate#replace(String, Map)
      */
     public static String replacePlaceholders(String original, Map<String, String> placeholders) {
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            original = original.replace(entry.getKey(), entry.getValue());
-        }
-        return original;
+        return MessageTemplate.replace(original, placeholders);
     }
 }
@@ -0,0 +1,133 @@
+/*
+Copyright (c) 2022 Leandro Alfonso
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package com.github.alfonsoleandro.mputils.string;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles each distinct string into a {@link MessageTemplate} only once, and hands out that same template to
+ * everyone asking for it while it is still in use. Templates are only weakly held, so the ones no longer in use,
+ * for example after reloading a messages file, are discarded by the garbage collector.
+ * <p>
+ * Every method is thread safe.
+ *
+ * @author alfonsoLeandro
+ * @since 1.10.0
+ */
+public final class TemplateStore {
+
+    /**
+     * The store shared by every message sender.
+     */
+    private static final TemplateStore SHARED = new TemplateStore();
+
+    /**
+     * Every template handed out, by the string it was compiled from.
+     */
+    private final ConcurrentHashMap<String, TemplateReference> templates = new ConcurrentHashMap<>();
+    /**
+     * The references whose template was discarded, waiting to be removed from {@link #templates}.
+     */
+    private final ReferenceQueue<MessageTemplate> discarded = new ReferenceQueue<>();
+
+    /**
+     * Gets the store shared by every message sender.
+     *
+     * @return The shared template store.
+     */
+    public static TemplateStore shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets the template for a string, compiling it only if no template for it is currently in use.
+     *
+     * @param source The string to compile.
+     * @return The compiled template, shared with everyone who asked for the same string.
+     */
+    public MessageTemplate get(@NotNull String source) {
+        expunge();
+        TemplateReference reference = this.templates.get(source);
+        MessageTemplate template = reference == null ? null : reference.get();
+        if (template != null) return template;
+
+        MessageTemplate[] result = new MessageTemplate[1];
+        this.templates.compute(source, (key, current) -> {
+            MessageTemplate existing = current == null ? null : current.get();
+            if (existing != null) {
+                result[0] = existing;
+                return current;
+            }
+            result[0] = MessageTemplate.compile(key);
+            return new TemplateReference(key, result[0], this.discarded);
+        });
+        return result[0];
+    }
+
+    /**
+     * Removes the entries whose template was discarded.
+     */
+    private void expunge() {
+        Object reference;
+        while ((reference = this.discarded.poll()) != null) {
+            TemplateReference discarded = (TemplateReference) reference;
+            this.templates.remove(discarded.source, discarded);
+        }
+    }
+
+    /**
+     * Gets the amount of templates currently held.
+     *
+     * @return The amount of templates, discarded ones included until they are removed.
+     */
+    public int size() {
+        expunge();
+        return this.templates.size();
+    }
+
+    /**
+     * A weak reference to a template that remembers the string it was compiled from.
+     */
+    private static final class TemplateReference extends WeakReference<MessageTemplate> {
+
+        /**
+         * The string the template was compiled from.
+         */
+        private final String source;
+
+        /**
+         * Creates a new reference.
+         *
+         * @param source   The string the template was compiled from.
+         * @param template The template.
+         * @param queue    The queue to add this reference to once the template is discarded.
+         */
+        private TemplateReference(String source, MessageTemplate template, ReferenceQueue<MessageTemplate> queue) {
+            super(template, queue);
+            this.source = source;
+        }
+    }
+}
@@ -24,6 +24,7 @@ package com.github.alfonsoleandro.mputils.time;
 import com.github.alfonsoleandro.mputils.MPUtils;
 import com.github.alfonsoleandro.mputils.files.YamlFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.util.NumberConversions;
 
 
 /**
@@ -43,6 +44,14 @@ public class Cooldown {
      * YAMLFile object containing cooldowns.
      */
     private final YamlFile cooldownYaml;
+    /**
+     * The path where this cooldown's items are saved, built once instead of on every check.
+     */
+    private final String cooldownPath;
+    /**
+     * The path prefix for every item of this cooldown.
+     */
+    private final String itemPathPrefix;
 
 
     /**
@@ -54,6 +63,8 @@ public class Cooldown {
     public Cooldown(String cooldownName) {
         this.cooldownName = cooldownName;
         this.cooldownYaml = JavaPlugin.getPlugin(MPUtils.class).getCooldownYaml();
+        this.cooldownPath = "cooldowns." + cooldownName;
+        this.itemPathPrefix = this.cooldownPath + ".";
     }
 
     /**
@@ -64,10 +75,10 @@ public class Cooldown {
      * @param timeUnit The timeunit that the amount represents. See {@link TimeUnit}.
      */
     public void addToCooldown(String itemName, int amount, TimeUnit timeUnit) {
-        this.cooldownYaml.getAccess().set("cooldowns." + this.cooldownName + "." + itemName,
+        this.cooldownYaml.getAccess().set(this.itemPathPrefix + itemName,
                 System.currentTimeMillis() +
                         java.util.concurrent.TimeUnit.SECONDS.toMillis(TimeUtils.getTotalSeconds((long) amount * timeUnit.getMultiplier())));
-        this.cooldownYaml.save(true);
+        this.cooldownYaml.markDirty();
     }
 
     /**
@@ -76,8 +87,8 @@ public class Cooldown {
      * @param itemName The item to remove from the cooldown.
      */
     public void removeFromCooldown(String itemName) {
-        this.cooldownYaml.getAccess().set("cooldowns." + this.cooldownName + "." + itemName, null);
-        this.cooldownYaml.save(true);
+        this.cooldownYaml.getAccess().set(this.itemPathPrefix + itemName, null);
+        this.cooldownYaml.markDirty();
     }
 
     /**
@@ -101,9 +112,10 @@ public class Cooldown {
      * @return The time left for the item to leave the cooldown or 0 if the item was not in cooldown.
      */
     public long getTimeLeft(String itemName) {
-        if (!this.cooldownYaml.getAccess().contains("cooldowns." + this.cooldownName + "." + itemName)) return 0;
+        final Object endTime = this.cooldownYaml.getAccess().get(this.itemPathPrefix + itemName);
+        if (endTime == null) return 0;
 
-        final long timeLeft = this.cooldownYaml.getAccess().getLong("cooldowns." + this.cooldownName + "." + itemName) - System.currentTimeMillis();
+        final long timeLeft = NumberConversions.toLong(endTime) - System.currentTimeMillis();
 
         if (timeLeft <= 0) {
             removeFromCooldown(itemName);
@@ -117,9 +129,9 @@ public class Cooldown {
      * Removes every item from the cooldown.
      */
     public void removeAll() {
-        if (!this.cooldownYaml.getAccess().contains("cooldowns." + this.cooldownName)) return;
-        this.cooldownYaml.getAccess().set("cooldowns." + this.cooldownName, null);
-        this.cooldownYaml.save(true);
+        if (!this.cooldownYaml.getAccess().contains(this.cooldownPath)) return;
+        this.cooldownYaml.getAccess().set(this.cooldownPath, null);
+        this.cooldownYaml.markDirty();
     }
 
 